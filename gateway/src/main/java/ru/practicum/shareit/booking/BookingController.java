@@ -18,6 +18,7 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BookingClient;
 
@@ -35,11 +36,12 @@ public class BookingController {
 	public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											  @RequestParam(name = "after", required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+		return bookingClient.getBookings(userId, state, from, size, after);
 	}
 
 	@PostMapping
@@ -60,11 +62,20 @@ public class BookingController {
 	public ResponseEntity<Object> getOwnerBookings(@RequestHeader(USER_ID_HEADER) long userId,
 												   @RequestParam(name = "state", defaultValue = "all") String stateParam,
 												   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+												   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+												   @RequestParam(name = "after", required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get owner booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getOwnerBookings(userId, state, from, size);
+		log.info("Get owner booking with state {}, userId={}, from={}, size={}, after={}",
+				stateParam, userId, from, size, after);
+		return bookingClient.getOwnerBookings(userId, state, from, size, after);
+	}
+
+	@PatchMapping("/bulk")
+	public ResponseEntity<Object> approveBookings(@RequestHeader(USER_ID_HEADER) long userId,
+												  @RequestBody @Valid BookingBulkDecisionDto decision) {
+		log.info("Approve bookings {}, userId={}, approved={}", decision.getBookingIds(), userId, decision.getApproved());
+		return bookingClient.approveBookings(userId, decision);
 	}
 
 	@PatchMapping("/{bookingId}")
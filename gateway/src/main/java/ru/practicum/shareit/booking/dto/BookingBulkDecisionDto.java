@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBulkDecisionDto {
+	@NotEmpty(message = "Booking ids cannot be empty")
+	private List<@NotNull Long> bookingIds;
+
+	@NotNull(message = "Decision cannot be null")
+	private Boolean approved;
+}
\ No newline at end of file
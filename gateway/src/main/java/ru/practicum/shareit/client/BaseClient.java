@@ -1,11 +1,16 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -79,6 +84,45 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Sends the request and copies the server response to {@code response} while it is still being received, so
+     * that a streamed body (such as NDJSON) reaches the caller chunk by chunk instead of after the last byte.
+     */
+    protected <T> void stream(HttpMethod method, String path, long userId, @Nullable T body, MediaType accept,
+                              HttpServletResponse response) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(accept, MediaType.APPLICATION_JSON));
+
+        try {
+            rest.execute(path, method, rest.httpEntityCallback(new HttpEntity<>(body, headers)), serverResponse -> {
+                copyResponse(serverResponse.getStatusCode(), serverResponse.getHeaders().getContentType(),
+                        serverResponse.getBody(), response);
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getStatusCode().value());
+            if (e.getResponseHeaders() != null && e.getResponseHeaders().getContentType() != null) {
+                response.setContentType(e.getResponseHeaders().getContentType().toString());
+            }
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static void copyResponse(HttpStatusCode status, @Nullable MediaType contentType, InputStream body,
+                                     HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        if (contentType != null) {
+            response.setContentType(contentType.toString());
+        }
+        OutputStream out = response.getOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Copy of the server's {@code ru.practicum.shareit.datasource.ConcurrencyLimitFilter}, which documents it and says
+ * why it is copied; keep the two in step.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final byte[] BUSY = "{\"error\":\"Service is busy, try again later\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(BUSY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
\ No newline at end of file
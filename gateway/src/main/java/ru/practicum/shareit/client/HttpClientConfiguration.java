@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * One pooled HTTP client for all calls to the server, shared by every client. All requests go to a single
+ * route, so the per-route limit is the one that caps concurrency; HttpClient's own defaults are 5 per route
+ * and 25 in total. Idle connections are closed before the server's keep-alive timeout would close them.
+ */
+@Configuration
+public class HttpClientConfiguration {
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(
+            @Value("${shareit-server.http.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http.max-connections-per-route:200}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.response-timeout:30s}") Duration responseTimeout,
+            @Value("${shareit-server.http.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory serverRequestFactory(
+            PoolingHttpClientConnectionManager serverConnectionManager,
+            @Value("${shareit-server.http.connection-request-timeout:5s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.response-timeout:30s}") Duration responseTimeout,
+            @Value("${shareit-server.http.keep-alive:15s}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout:10s}") Duration idleTimeout) {
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setDefaultKeepAlive(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build());
+    }
+
+    /**
+     * On virtual threads, lets no more requests in at once than the pool has connections to the server, so that no
+     * request waits for a connection inside the client. Requests that get no turn within the connection request
+     * timeout are answered with 503.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> serverConcurrencyLimitFilter(
+            @Value("${shareit-server.http.max-connections-per-route:200}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.http.connection-request-timeout:5s}") Duration connectionRequestTimeout) {
+        return new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConnectionsPerRoute, connectionRequestTimeout));
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, "shareit-server");
+    }
+}
\ No newline at end of file
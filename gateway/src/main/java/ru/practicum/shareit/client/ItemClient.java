@@ -3,11 +3,17 @@ package ru.practicum.shareit.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -15,11 +21,12 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -28,6 +35,10 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public void createItems(Long userId, Object itemDtos, HttpServletResponse response) throws IOException {
+        stream(HttpMethod.POST, "/batch", userId, itemDtos, MediaType.APPLICATION_NDJSON, response);
+    }
+
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, Object itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -36,15 +47,29 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getUserItems(Long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getUserItems(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
+    public ResponseEntity<Object> getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "from", from,
+                "to", to
         );
-        return get("/search?text={text}", null, parameters);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(Long userId, Long itemId, Object commentCreateDto) {
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -12,13 +13,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -36,6 +45,14 @@ public class ItemController {
         return itemClient.createItem(ownerId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public void createItems(@NotEmpty @RequestBody List<ItemDto> itemDtos,
+                            @RequestHeader(USER_ID_HEADER) Long ownerId,
+                            HttpServletResponse response) throws IOException {
+        log.info("Creating {} items, ownerId={}", itemDtos.size(), ownerId);
+        itemClient.createItems(ownerId, itemDtos, response);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
                                              @RequestBody ItemDto itemDto,
@@ -52,15 +69,30 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(@RequestHeader(USER_ID_HEADER) Long ownerId) {
-        log.info("Get user items, ownerId={}", ownerId);
-        return itemClient.getUserItems(ownerId);
+    public ResponseEntity<Object> getUserItems(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get user items, ownerId={}, from={}, size={}", ownerId, from, size);
+        return itemClient.getUserItems(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text) {
-        log.info("Search items, text={}", text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(@RequestParam String text,
+                                              @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                              @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Search items, text={}, from={}, size={}", text, from, size);
+        return itemClient.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(@PathVariable Long itemId,
+                                                      @RequestHeader(USER_ID_HEADER) Long userId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime to) {
+        log.info("Get item availability, itemId={}, userId={}, from={}, to={}", itemId, userId, from, to);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
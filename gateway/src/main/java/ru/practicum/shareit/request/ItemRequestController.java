@@ -45,9 +45,10 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequests(@RequestHeader(USER_ID_HEADER) Long userId,
                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                 @Positive @RequestParam(defaultValue = "10") int size) {
-        log.info("Get all requests, userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.getAllRequests(userId, from, size);
+                                                 @Positive @RequestParam(defaultValue = "10") int size,
+                                                 @RequestParam(required = false) String after) {
+        log.info("Get all requests, userId={}, from={}, size={}, after={}", userId, from, size, after);
+        return itemRequestClient.getAllRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
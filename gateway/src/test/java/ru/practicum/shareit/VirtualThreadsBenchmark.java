@@ -0,0 +1,262 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Load test of the gateway on platform and on virtual request threads. A stub server answers
+ * {@code GET /users/{id}} after {@value #SERVER_LATENCY_MS} ms, so every gateway request blocks on its call to the
+ * server for that long. For each thread mode and each number of concurrent connections, a fresh gateway process is
+ * started and driven by that many keep-alive connections, each sending its next request as soon as the previous one
+ * is answered. Reported per run: throughput, p50/p99 latency, errors, the gateway's OS threads and resident memory
+ * under load (from {@code /proc}, so Linux only), and in virtual mode the pinning events the JDK reported.
+ * <p>
+ * Only requests sent in the first part of the measurement window are measured, up to one request timeout before its
+ * end: every one of them is answered or has timed out by the end of the window, so a request still in flight there
+ * is an error, never left out. Requests keep going until the end of the window, so the load stays the same.
+ * <p>
+ * The gateway's HTTP pool is raised to {@value #SERVER_CONNECTIONS} connections in both modes, so that the pool is
+ * not what caps concurrency. The load generator and the stub run in this JVM, the gateway in its own. On a machine
+ * with few cores they compete with the gateway for CPU and the numbers say little about the gateway; pin them apart
+ * with {@code taskset} for this JVM and {@code -Dgateway.cpus} (a {@code taskset -c} CPU list) for the gateway.
+ * <p>
+ * Run with:
+ * <pre>
+ * taskset -c 0-1 mvn -pl gateway test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-Dgateway.cpus=2-3 -cp %classpath ru.practicum.shareit.VirtualThreadsBenchmark [connections...]"
+ * </pre>
+ */
+public class VirtualThreadsBenchmark {
+    private static final int SERVER_LATENCY_MS = 100;
+    private static final int SERVER_CONNECTIONS = 2_000;
+    private static final int[] DEFAULT_CONNECTIONS = {1_000, 5_000, 10_000};
+    private static final Duration RAMP_UP = Duration.ofSeconds(5);
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final byte[] USER = "{\"id\":1,\"name\":\"User\",\"email\":\"user@email.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int[] connectionCounts = args.length == 0
+                ? DEFAULT_CONNECTIONS
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        String gatewayCpus = System.getProperty("gateway.cpus");
+        System.out.printf("%d CPUs available to the load generator, gateway on %s%n",
+                Runtime.getRuntime().availableProcessors(),
+                gatewayCpus == null ? "the same CPUs" : "CPUs " + gatewayCpus);
+
+        HttpServer stub = startStubServer();
+        List<String> report = new ArrayList<>();
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                for (int connections : connectionCounts) {
+                    String line = run(virtual, connections, stub.getAddress().getPort(), gatewayCpus);
+                    System.out.println(line);
+                    report.add(line);
+                }
+            }
+        } finally {
+            stub.stop(0);
+        }
+
+        System.out.println();
+        System.out.println("mode     connections   req/s    p50 ms   p99 ms   errors  threads  RSS MiB  pinned");
+        report.forEach(System.out::println);
+    }
+
+    /**
+     * Answers from a scheduler instead of sleeping in the handler, so the stub needs no thread per pending request
+     * and never is what limits the gateway.
+     */
+    private static HttpServer startStubServer() throws IOException {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(SERVER_CONNECTIONS));
+        ScheduledExecutorService responder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().factory());
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext("/users", exchange -> responder.schedule(() -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, USER.length);
+                body.write(USER);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }, SERVER_LATENCY_MS, TimeUnit.MILLISECONDS));
+        server.start();
+        return server;
+    }
+
+    private static String run(boolean virtual, int connections, int stubPort, String gatewayCpus) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("gateway-" + (virtual ? "virtual" : "platform"), ".log");
+        List<String> command = new ArrayList<>();
+        if (gatewayCpus != null) {
+            command.addAll(List.of("taskset", "-c", gatewayCpus));
+        }
+        command.addAll(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xms256m", "-Xmx1g"));
+        if (virtual) {
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.addAll(List.of(
+                "-cp", System.getProperty("java.class.path"),
+                ShareItGateway.class.getName(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=" + (connections + 1_000),
+                "--server.tomcat.accept-count=4096",
+                "--shareit-server.url=http://localhost:" + stubPort,
+                "--shareit-server.http.max-connections=" + SERVER_CONNECTIONS,
+                "--shareit-server.http.max-connections-per-route=" + SERVER_CONNECTIONS,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        Process gateway = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            URI uri = URI.create("http://localhost:" + port + "/users/1");
+            awaitStarted(uri);
+            LoadResult result = drive(uri, connections, gateway.pid());
+            long pinned = Files.readAllLines(log).stream().filter(line -> line.contains("<== monitors")).count();
+            return String.format("%-8s %11d %7d %9d %8d %8d %8d %8d %7s",
+                    virtual ? "virtual" : "platform", connections, Math.round(result.throughput), result.p50,
+                    result.p99, result.errors, result.maxThreads, result.maxRssKb / 1024, virtual ? pinned : "-");
+        } finally {
+            gateway.destroy();
+            gateway.waitFor(30, TimeUnit.SECONDS);
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static LoadResult drive(URI uri, int connections, long gatewayPid) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + RAMP_UP.plus(WARMUP).toNanos();
+        long measureTo = measureFrom + MEASUREMENT.toNanos();
+        // a request sent before this is answered or timed out by measureTo
+        long sendUntil = measureTo - REQUEST_TIMEOUT.toNanos();
+        long[][] latencies = new long[connections][];
+        AtomicInteger errors = new AtomicInteger();
+
+        AtomicLong maxThreads = new AtomicLong();
+        AtomicLong maxRssKb = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            if (now >= measureFrom && now < measureTo) {
+                maxThreads.accumulateAndGet(procStatus(gatewayPid, "Threads:"), Math::max);
+                maxRssKb.accumulateAndGet(procStatus(gatewayPid, "VmRSS:"), Math::max);
+            }
+        }, 0, 250, TimeUnit.MILLISECONDS);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                int user = i;
+                long delay = RAMP_UP.toNanos() * user / connections;
+                users.execute(() -> {
+                    long[] own = new long[1024];
+                    int count = 0;
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                        while (System.nanoTime() < measureTo) {
+                            long sentAt = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                            } catch (IOException e) {
+                                ok = false;
+                            }
+                            long answeredAt = System.nanoTime();
+                            if (sentAt >= measureFrom && sentAt < sendUntil) {
+                                if (!ok || answeredAt >= measureTo) {
+                                    errors.incrementAndGet();
+                                } else {
+                                    if (count == own.length) {
+                                        own = Arrays.copyOf(own, count * 2);
+                                    }
+                                    own[count++] = answeredAt - sentAt;
+                                }
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latencies[user] = Arrays.copyOf(own, count);
+                });
+            }
+        }
+        sampler.shutdownNow();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            return new LoadResult(0, 0, 0, errors.get(), maxThreads.get(), maxRssKb.get());
+        }
+        return new LoadResult(all.length / (MEASUREMENT.minus(REQUEST_TIMEOUT).toMillis() / 1000.0),
+                all[all.length / 2] / 1_000_000, all[all.length * 99 / 100] / 1_000_000,
+                errors.get(), maxThreads.get(), maxRssKb.get());
+    }
+
+    private static void awaitStarted(URI uri) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        for (int attempt = 0; attempt < 120; attempt++) {
+            try {
+                client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Gateway did not start");
+    }
+
+    private static long procStatus(long pid, String field) {
+        try {
+            return Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")).stream()
+                    .filter(line -> line.startsWith(field))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record LoadResult(double throughput, long p50, long p99, int errors, long maxThreads, long maxRssKb) {
+    }
+}
\ No newline at end of file
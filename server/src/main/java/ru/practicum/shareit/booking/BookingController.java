@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import lombok.RequiredArgsConstructor;
 import ru.practicum.shareit.service.BookingService;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.SeekCursor;
 
 import java.util.List;
 
@@ -22,6 +25,12 @@ public class BookingController {
         return bookingService.createBooking(bookingRequestDto, userId);
     }
 
+    @PatchMapping("/bulk")
+    public List<BookingDecisionResultDto> approveBookings(@RequestBody BookingBulkDecisionDto decision,
+                                                          @RequestHeader(USER_ID_HEADER) Long ownerId) {
+        return bookingService.approveBookings(decision, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto approveBooking(@PathVariable Long bookingId,
                                              @RequestParam boolean approved,
@@ -39,15 +48,23 @@ public class BookingController {
     public List<BookingResponseDto> getUserBookings(@RequestHeader(USER_ID_HEADER) Long userId,
                                                     @RequestParam(defaultValue = "ALL") BookingState state,
                                                     @RequestParam(defaultValue = "0") Integer from,
-                                                    @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getUserBookings(userId, state);
+                                                    @RequestParam(defaultValue = "10") Integer size,
+                                                    @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingService.getUserBookings(userId, state, SeekCursor.parse(after), size);
+        }
+        return bookingService.getUserBookings(userId, state, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingResponseDto> getOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                                      @RequestParam(defaultValue = "ALL") BookingState state,
                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                     @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getOwnerBookings(ownerId, state);
+                                                     @RequestParam(defaultValue = "10") Integer size,
+                                                     @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingService.getOwnerBookings(ownerId, state, SeekCursor.parse(after), size);
+        }
+        return bookingService.getOwnerBookings(ownerId, state, from, size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.util.List;
+
+public interface BookingFeedRepository {
+    /**
+     * One page of the bookings matching {@code spec}, newest first (start DESC, id DESC), in a single statement:
+     * unlike {@code JpaSpecificationExecutor.findAll(spec, pageable)} it never runs a count query. Rows come back
+     * as {@link BookingView} projections joined with their item and booker, not as managed entities.
+     */
+    List<BookingView> findFeed(Specification<Booking> spec, Pageable pageable);
+}
\ No newline at end of file
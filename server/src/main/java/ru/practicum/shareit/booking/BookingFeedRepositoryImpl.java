@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+public class BookingFeedRepositoryImpl implements BookingFeedRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Booking has no associations, so item and booker are joined as entities on their ids.
+     */
+    @Override
+    public List<BookingView> findFeed(Specification<Booking> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        JpaRoot<Booking> booking = (JpaRoot<Booking>) query.from(Booking.class);
+        JpaEntityJoin<Item> item = booking.join(Item.class);
+        item.on(cb.equal(item.get("id"), booking.get("itemId")));
+        JpaEntityJoin<User> booker = booking.join(User.class);
+        booker.on(cb.equal(booker.get("id"), booking.get("bookerId")));
+
+        query.select(cb.construct(BookingView.class,
+                booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                item.get("requestId"),
+                booker.get("id"), booker.get("name"), booker.get("email")));
+
+        Predicate predicate = spec.toPredicate(booking, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
\ No newline at end of file
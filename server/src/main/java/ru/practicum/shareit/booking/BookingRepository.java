@@ -1,44 +1,41 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
-
-    List<Booking> findByItemIdInOrderByStartDesc(List<Long> itemIds);
-
-    List<Booking> findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findByItemIdInAndEndBeforeOrderByStartDesc(List<Long> itemIds, LocalDateTime end);
-
-    List<Booking> findByItemIdInAndStartAfterOrderByStartDesc(List<Long> itemIds, LocalDateTime start);
-
-    List<Booking> findByItemIdInAndStatusOrderByStartDesc(List<Long> itemIds, BookingStatus status);
-
-    @Query("SELECT b FROM Booking b WHERE b.itemId = :itemId AND b.status = 'APPROVED' " +
-            "AND b.end > :currentTime ORDER BY b.start ASC")
-    List<Booking> findNextBooking(@Param("itemId") Long itemId, @Param("currentTime") LocalDateTime currentTime);
-
-    @Query("SELECT b FROM Booking b WHERE b.itemId = :itemId AND b.status = 'APPROVED' " +
-            "AND b.end <= :currentTime ORDER BY b.end DESC")
-    List<Booking> findLastBooking(@Param("itemId") Long itemId, @Param("currentTime") LocalDateTime currentTime);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFeedRepository {
+    String ACTIVE_OVERLAPPING = "AND b.status IN ('WAITING', 'APPROVED') AND b.start < :end AND b.end > :start";
+
+    Optional<Booking> findFirstByItemIdAndStatusAndEndAfterOrderByStartAsc(
+            Long itemId, BookingStatus status, LocalDateTime currentTime);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndEndLessThanEqualOrderByEndDesc(
+            Long itemId, BookingStatus status, LocalDateTime currentTime);
+
+    @Query(value = "SELECT id, start_time, end_time, item_id, booker_id, status FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_time DESC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' " +
+            "AND b.end_time <= :currentTime) last_bookings WHERE rn = 1 " +
+            "UNION ALL " +
+            "SELECT id, start_time, end_time, item_id, booker_id, status FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time ASC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' " +
+            "AND b.end_time > :currentTime) next_bookings WHERE rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastAndNextBookings(@Param("itemIds") List<Long> itemIds,
+                                          @Param("currentTime") LocalDateTime currentTime);
 
     List<Booking> findByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime end);
 
@@ -47,4 +44,33 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findApprovedPastBookingsByBookerAndItem(@Param("bookerId") Long bookerId,
                                                           @Param("itemId") Long itemId,
                                                           @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.itemId = :itemId " + ACTIVE_OVERLAPPING)
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b WHERE b.itemId = :itemId " + ACTIVE_OVERLAPPING + " ORDER BY b.start")
+    List<Booking> findOverlapping(@Param("itemId") Long itemId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :bookingId AND b.status = 'WAITING' " +
+            "AND b.itemId IN (SELECT i.id FROM Item i WHERE i.ownerId = :ownerId)")
+    int decideWaiting(@Param("bookingId") Long bookingId,
+                      @Param("ownerId") Long ownerId,
+                      @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :bookingIds AND b.status = 'WAITING'")
+    int decideAllWaiting(@Param("bookingIds") Collection<Long> bookingIds, @Param("status") BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :bookingIds " +
+            "AND b.itemId IN (SELECT i.id FROM Item i WHERE i.ownerId = :ownerId) " +
+            "ORDER BY b.id")
+    List<Booking> findOwnedForUpdate(@Param("bookingIds") Collection<Long> bookingIds, @Param("ownerId") Long ownerId);
+
+    List<Booking> findByStatusInAndIdGreaterThanOrderByIdAsc(Collection<BookingStatus> statuses, Long id, Limit limit);
 }
\ No newline at end of file
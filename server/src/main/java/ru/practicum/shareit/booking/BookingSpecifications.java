@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.SeekCursor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Building blocks of the booking feeds, combined with {@link Specification#and} and run through
+ * {@link BookingFeedRepository}.
+ */
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> bookedBy(Long bookerId) {
+        return (booking, query, cb) -> cb.equal(booking.get("bookerId"), bookerId);
+    }
+
+    /**
+     * Bookings of the items of an owner, as a subquery on {@code items.owner_id} rather than a list of item ids,
+     * so the database resolves the owner's items itself.
+     */
+    public static Specification<Booking> ofItemsOwnedBy(Long ownerId) {
+        return (booking, query, cb) -> {
+            Subquery<Long> ownerItems = query.subquery(Long.class);
+            Root<Item> item = ownerItems.from(Item.class);
+            ownerItems.select(item.get("id")).where(cb.equal(item.get("ownerId"), ownerId));
+            return booking.get("itemId").in(ownerItems);
+        };
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (booking, query, cb) -> switch (state) {
+            case CURRENT -> cb.and(cb.lessThan(booking.get("start"), now), cb.greaterThan(booking.get("end"), now));
+            case PAST -> cb.lessThan(booking.get("end"), now);
+            case FUTURE -> cb.greaterThan(booking.get("start"), now);
+            case WAITING -> cb.equal(booking.get("status"), BookingStatus.WAITING);
+            case REJECTED -> cb.equal(booking.get("status"), BookingStatus.REJECTED);
+            case ALL -> null;
+        };
+    }
+
+    /**
+     * Bookings that come after {@code cursor} in the feed order (start DESC, id DESC).
+     */
+    public static Specification<Booking> after(SeekCursor cursor) {
+        return (booking, query, cb) -> cb.or(
+                cb.lessThan(booking.get("start"), cursor.getTimestamp()),
+                cb.and(cb.equal(booking.get("start"), cursor.getTimestamp()),
+                        cb.lessThan(booking.get("id"), cursor.getId())));
+    }
+}
\ No newline at end of file
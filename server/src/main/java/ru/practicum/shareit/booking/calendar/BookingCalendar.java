@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.calendar;
+
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Answers time-range questions about the active (WAITING or APPROVED) bookings of an item.
+ * Intervals are half-open: {@code [start, end)}.
+ */
+public interface BookingCalendar {
+    boolean hasOverlap(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<Booking> findOverlapping(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    Optional<Booking> findLastApproved(Long itemId, LocalDateTime now);
+
+    Optional<Booking> findNextApproved(Long itemId, LocalDateTime now);
+
+    /**
+     * Last and next approved booking of every item, in no particular order.
+     */
+    List<Booking> findLastAndNextApproved(List<Long> itemIds, LocalDateTime now);
+
+    /**
+     * Called after a booking was saved or its status changed.
+     */
+    default void onSaved(Booking booking) {
+    }
+
+    default void removeByBookerId(Long bookerId) {
+    }
+
+    default void removeByItemIds(Collection<Long> itemIds) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Configuration
+@Import(BookingCalendarUpdater.class)
+public class BookingCalendarConfiguration {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    @Bean
+    public BookingCalendar bookingCalendar(BookingRepository bookingRepository,
+                                           @Value("${shareit.bookings.in-memory-calendar.enabled:false}")
+                                           boolean inMemory) {
+        if (!inMemory) {
+            return new JpaBookingCalendar(bookingRepository);
+        }
+        InMemoryBookingCalendar calendar = new InMemoryBookingCalendar();
+        calendar.rebuild(loadActiveBookings(bookingRepository));
+        log.info("Booking calendar is kept in memory, {} active bookings loaded", calendar.size());
+        return calendar;
+    }
+
+    private static List<Booking> loadActiveBookings(BookingRepository bookingRepository) {
+        List<Booking> activeBookings = new ArrayList<>();
+        List<Booking> batch = bookingRepository.findByStatusInAndIdGreaterThanOrderByIdAsc(
+                ACTIVE_STATUSES, 0L, Limit.of(REBUILD_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            activeBookings.addAll(batch);
+            Long lastId = batch.get(batch.size() - 1).getId();
+            batch = bookingRepository.findByStatusInAndIdGreaterThanOrderByIdAsc(
+                    ACTIVE_STATUSES, lastId, Limit.of(REBUILD_BATCH_SIZE));
+        }
+        return activeBookings;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+/**
+ * Drops the bookings of a deleted user, and the calendars of the items the user owned, once the deletion has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCalendarUpdater {
+    private final BookingCalendar bookingCalendar;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        bookingCalendar.removeByBookerId(event.getUserId());
+        bookingCalendar.removeByItemIds(event.getItemIds());
+    }
+}
\ No newline at end of file
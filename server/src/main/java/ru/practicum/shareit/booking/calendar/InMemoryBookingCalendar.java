@@ -0,0 +1,288 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the active bookings of every item ordered by start, together with the longest booking
+ * seen for that item. A booking overlapping {@code [from, to)} must start in
+ * {@code [from - longest, to)}, so range questions take one O(log n) seek plus a walk over the
+ * bookings in that window instead of a database round trip.
+ * <p>
+ * The calendar lives in the memory of one server: enable it only when a single instance writes
+ * bookings. Changes made inside a transaction are applied when it commits, and never when it rolls
+ * back. A booking that takes time is added just before the commit, while the transaction still holds
+ * the item row lock, so the next booking of the item sees it; it is taken out again should the
+ * commit itself fail. A change that frees time is applied only after the commit.
+ * <p>
+ * Whenever a booking of an item is saved, the bookings of that item that have already ended are
+ * dropped, except for the approved one that ended last: it is still the item's last booking.
+ */
+public class InMemoryBookingCalendar implements BookingCalendar {
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getId);
+
+    private final Map<Long, ItemCalendar> calendars = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryBookingCalendar() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public InMemoryBookingCalendar(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void rebuild(Iterable<Booking> bookings) {
+        calendars.clear();
+        for (Booking booking : bookings) {
+            calendarOf(booking.getItemId()).put(booking);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        calendars.values().forEach(calendar -> calendar.prune(now));
+    }
+
+    public int size() {
+        return calendars.values().stream()
+                .mapToInt(ItemCalendar::size)
+                .sum();
+    }
+
+    @Override
+    public boolean hasOverlap(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar != null && !calendar.findOverlapping(from, to, 1).isEmpty();
+    }
+
+    @Override
+    public List<Booking> findOverlapping(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar == null ? new ArrayList<>() : calendar.findOverlapping(from, to, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Optional<Booking> findLastApproved(Long itemId, LocalDateTime now) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar == null ? Optional.empty() : calendar.findLastApproved(now);
+    }
+
+    @Override
+    public Optional<Booking> findNextApproved(Long itemId, LocalDateTime now) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar == null ? Optional.empty() : calendar.findNextApproved(now);
+    }
+
+    @Override
+    public List<Booking> findLastAndNextApproved(List<Long> itemIds, LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            findLastApproved(itemId, now).ifPresent(bookings::add);
+            findNextApproved(itemId, now).ifPresent(bookings::add);
+        }
+        return bookings;
+    }
+
+    @Override
+    public void onSaved(Booking booking) {
+        Booking saved = copyOf(booking);
+        ItemCalendar calendar = calendarOf(saved.getItemId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(calendar, saved);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean applied;
+            private Booking previous;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (isActive(saved)) {
+                    previous = apply(calendar, saved);
+                    applied = true;
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    if (applied) {
+                        calendar.restore(saved.getId(), previous);
+                    }
+                } else if (!applied) {
+                    apply(calendar, saved);
+                }
+            }
+        });
+    }
+
+    /**
+     * Expects to be called once the deletion has committed.
+     */
+    @Override
+    public void removeByBookerId(Long bookerId) {
+        calendars.values().forEach(calendar -> calendar.removeByBookerId(bookerId));
+    }
+
+    /**
+     * Expects to be called once the deletion has committed.
+     */
+    @Override
+    public void removeByItemIds(Collection<Long> itemIds) {
+        calendars.keySet().removeAll(itemIds);
+    }
+
+    private Booking apply(ItemCalendar calendar, Booking booking) {
+        Booking previous = calendar.put(booking);
+        calendar.prune(LocalDateTime.now(clock));
+        return previous;
+    }
+
+    private ItemCalendar calendarOf(Long itemId) {
+        return calendars.computeIfAbsent(itemId, id -> new ItemCalendar());
+    }
+
+    private static boolean isActive(Booking booking) {
+        return booking.getStatus() == BookingStatus.WAITING || booking.getStatus() == BookingStatus.APPROVED;
+    }
+
+    private static Booking probe(LocalDateTime start) {
+        return new Booking(Long.MIN_VALUE, start, start, null, null, null);
+    }
+
+    private static Booking copyOf(Booking booking) {
+        return new Booking(booking.getId(), booking.getStart(), booking.getEnd(), booking.getItemId(),
+                booking.getBookerId(), booking.getStatus());
+    }
+
+    private static class ItemCalendar {
+        private final NavigableSet<Booking> byStart = new TreeSet<>(BY_START);
+        private final Map<Long, Booking> byId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+
+        /**
+         * Replaces the stored state of the booking and returns the previous one.
+         */
+        synchronized Booking put(Booking booking) {
+            Booking previous = remove(booking.getId());
+            if (isActive(booking)) {
+                add(copyOf(booking));
+            }
+            return previous;
+        }
+
+        synchronized void restore(Long bookingId, Booking previous) {
+            remove(bookingId);
+            if (previous != null) {
+                add(previous);
+            }
+        }
+
+        synchronized void removeByBookerId(Long bookerId) {
+            byStart.removeIf(booking -> bookerId.equals(booking.getBookerId()));
+            byId.values().removeIf(booking -> bookerId.equals(booking.getBookerId()));
+        }
+
+        /**
+         * Drops the bookings that ended by {@code now}, except the approved one that ended last.
+         */
+        synchronized void prune(LocalDateTime now) {
+            List<Booking> ended = new ArrayList<>();
+            Booking lastApproved = null;
+            for (Booking booking : byStart.headSet(probe(now), false)) {
+                if (!booking.getEnd().isAfter(now)) {
+                    ended.add(booking);
+                    if (booking.getStatus() == BookingStatus.APPROVED
+                            && (lastApproved == null || booking.getEnd().isAfter(lastApproved.getEnd()))) {
+                        lastApproved = booking;
+                    }
+                }
+            }
+            if (ended.size() <= (lastApproved == null ? 0 : 1)) {
+                return;
+            }
+            for (Booking booking : ended) {
+                if (booking != lastApproved) {
+                    remove(booking.getId());
+                }
+            }
+            longest = byStart.stream()
+                    .map(booking -> Duration.between(booking.getStart(), booking.getEnd()))
+                    .max(Comparator.naturalOrder())
+                    .orElse(Duration.ZERO);
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+
+        synchronized List<Booking> findOverlapping(LocalDateTime from, LocalDateTime to, int limit) {
+            List<Booking> overlapping = new ArrayList<>();
+            for (Booking booking : byStart.subSet(probe(from.minus(longest)), true, probe(to), false)) {
+                if (booking.getEnd().isAfter(from)) {
+                    overlapping.add(copyOf(booking));
+                    if (overlapping.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return overlapping;
+        }
+
+        synchronized Optional<Booking> findLastApproved(LocalDateTime now) {
+            Booking last = null;
+            for (Booking booking : byStart.headSet(probe(now), false).descendingSet()) {
+                // everything further back ends no later than start + longest
+                if (last != null && !booking.getStart().plus(longest).isAfter(last.getEnd())) {
+                    break;
+                }
+                if (booking.getStatus() == BookingStatus.APPROVED && !booking.getEnd().isAfter(now)
+                        && (last == null || booking.getEnd().isAfter(last.getEnd()))) {
+                    last = booking;
+                }
+            }
+            return Optional.ofNullable(last).map(InMemoryBookingCalendar::copyOf);
+        }
+
+        synchronized Optional<Booking> findNextApproved(LocalDateTime now) {
+            for (Booking booking : byStart.tailSet(probe(now.minus(longest)), true)) {
+                if (booking.getStatus() == BookingStatus.APPROVED && booking.getEnd().isAfter(now)) {
+                    return Optional.of(copyOf(booking));
+                }
+            }
+            return Optional.empty();
+        }
+
+        private void add(Booking booking) {
+            byStart.add(booking);
+            byId.put(booking.getId(), booking);
+            Duration duration = Duration.between(booking.getStart(), booking.getEnd());
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        }
+
+        private Booking remove(Long bookingId) {
+            Booking removed = byId.remove(bookingId);
+            if (removed != null) {
+                byStart.remove(removed);
+            }
+            return removed;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads every answer from the database through the booking indexes.
+ */
+@RequiredArgsConstructor
+public class JpaBookingCalendar implements BookingCalendar {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public boolean hasOverlap(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingRepository.existsOverlapping(itemId, from, to);
+    }
+
+    @Override
+    public List<Booking> findOverlapping(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingRepository.findOverlapping(itemId, from, to);
+    }
+
+    @Override
+    public Optional<Booking> findLastApproved(Long itemId, LocalDateTime now) {
+        return bookingRepository.findFirstByItemIdAndStatusAndEndLessThanEqualOrderByEndDesc(
+                itemId, BookingStatus.APPROVED, now);
+    }
+
+    @Override
+    public Optional<Booking> findNextApproved(Long itemId, LocalDateTime now) {
+        return bookingRepository.findFirstByItemIdAndStatusAndEndAfterOrderByStartAsc(
+                itemId, BookingStatus.APPROVED, now);
+    }
+
+    @Override
+    public List<Booking> findLastAndNextApproved(List<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return bookingRepository.findLastAndNextBookings(itemIds, now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one booking of a bulk decision: the status after the call, or the reason it was not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private String status;
+    private String error;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a booking feed with the item and booker columns of {@link BookingResponseDto}, selected
+ * by a constructor expression. The constructor parameter order is part of the query.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingView {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingStatus status;
+    private final Long itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Long itemRequestId;
+    private final Long bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+}
\ No newline at end of file
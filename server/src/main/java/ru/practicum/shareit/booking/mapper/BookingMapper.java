@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -32,6 +33,18 @@ public class BookingMapper {
         );
     }
 
+    public static BookingResponseDto toBookingResponseDto(BookingView view) {
+        return new BookingResponseDto(
+                view.getId(),
+                view.getStart(),
+                view.getEnd(),
+                new ItemDto(view.getItemId(), view.getItemName(), view.getItemDescription(), view.getItemAvailable(),
+                        view.getItemRequestId()),
+                new UserDto(view.getBookerId(), view.getBookerName(), view.getBookerEmail()),
+                view.getStatus().name()
+        );
+    }
+
     public static Booking toBooking(BookingRequestDto bookingRequestDto, Long bookerId) {
         return new Booking(
                 null,
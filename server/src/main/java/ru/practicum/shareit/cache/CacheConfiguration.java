@@ -0,0 +1,25 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Local caches for hot lookups by id. Size, TTL and statistics are set with
+ * {@code spring.cache.caffeine.spec}; hit/miss/eviction counters are published
+ * as {@code cache.*} metrics under the actuator.
+ * <ul>
+ *     <li>{@link #USERS_CACHE}: {@code UserDto} behind {@code UserService.getUser}</li>
+ *     <li>{@link #ITEMS_CACHE}: {@code Item} snapshots behind {@code ItemService.findItem}</li>
+ * </ul>
+ * The cache advice runs outside of the transaction advice, so an eviction happens only after the change has
+ * committed. The user and item write-throughs in {@code UserServiceImpl} and {@code ItemServiceImpl} are
+ * likewise deferred until commit, and their read-throughs only fill an absent entry, so a read that loaded a
+ * row before a concurrent update committed cannot put the old state back.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfiguration {
+    public static final String USERS_CACHE = "users";
+    public static final String ITEMS_CACHE = "items";
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets at most {@code maxConcurrentRequests} requests through at once. The others wait their turn, first come
+ * first served, for at most {@code maxWait} and are then answered with 503 Service Unavailable. On virtual threads
+ * Tomcat no longer caps the requests in progress at its worker count, so this takes over the cap: a waiting request
+ * parks its virtual thread here instead of queueing inside the connection pool.
+ * <p>
+ * The gateway has an identical copy, {@code ru.practicum.shareit.client.ConcurrencyLimitFilter}: the two modules
+ * share no code, so a change made here has to be made there as well.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final byte[] BUSY = "{\"error\":\"Service is busy, try again later\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(BUSY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Sizes the connection pool from the number of cores, after the PostgreSQL rule of thumb
+ * {@code cores * 2 + effective spindles}, unless {@code spring.datasource.hikari.maximum-pool-size} is set.
+ * Minimum idle is left at its default, the maximum, so the pool keeps a fixed size.
+ */
+@Slf4j
+@Configuration
+public class ConnectionPoolConfiguration {
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    static final String EFFECTIVE_SPINDLES = "shareit.datasource.pool.effective-spindles";
+
+    @Bean
+    public static BeanPostProcessor connectionPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int poolSize = poolSize(cores, environment.getProperty(EFFECTIVE_SPINDLES, Integer.class, 1));
+                    dataSource.setMaximumPoolSize(poolSize);
+                    log.info("Connection pool {} sized to {} connections for {} cores",
+                            dataSource.getPoolName(), poolSize, cores);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * On virtual threads, lets no more requests in at once than the pool has connections, so that no request waits
+     * for a connection inside the pool. Requests that get no turn within the connection timeout are answered with 503.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> connectionPoolConcurrencyLimitFilter(
+            HikariDataSource dataSource) {
+        return new FilterRegistrationBean<>(new ConcurrencyLimitFilter(dataSource.getMaximumPoolSize(),
+                Duration.ofMillis(dataSource.getConnectionTimeout())));
+    }
+
+    static int poolSize(int cores, int effectiveSpindles) {
+        return cores * 2 + effectiveSpindles;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
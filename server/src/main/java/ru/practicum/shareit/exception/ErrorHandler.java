@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.util.Map;
 
@@ -36,6 +37,16 @@ public class ErrorHandler {
         return Map.of("error", "Internal server error: " + e.getMessage());
     }
 
+    /**
+     * A transaction that could not get a connection within the pool's connection timeout: the database is
+     * saturated or unreachable, so the request may well succeed when retried.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleServiceUnavailable(final CannotCreateTransactionException e) {
+        return Map.of("error", "Service is busy, try again later");
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, String> handleDataIntegrityViolation(final DataIntegrityViolationException e) {
@@ -47,4 +58,10 @@ public class ErrorHandler {
     public Map<String, String> handleEmailAlreadyExists(final EmailAlreadyExistsException e) {
         return Map.of("error", e.getMessage());
     }
+
+    @ExceptionHandler(BookingOverlapException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleBookingOverlap(final BookingOverlapException e) {
+        return Map.of("error", e.getMessage());
+    }
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import lombok.RequiredArgsConstructor;
 import ru.practicum.shareit.service.ItemService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,6 +25,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(@RequestBody ItemDto itemDto,
@@ -22,6 +33,29 @@ public class ItemController {
         return itemService.createItem(itemDto, ownerId);
     }
 
+    /**
+     * Streams one NDJSON line per row as soon as its chunk is committed. Errors raised before the first chunk,
+     * such as an unknown owner, still come back as a regular error response.
+     */
+    @PostMapping("/batch")
+    public void createItems(@RequestBody List<ItemDto> itemDtos,
+                            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+                            HttpServletResponse response) {
+        itemService.createItems(itemDtos, ownerId, results -> {
+            try {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                OutputStream out = response.getOutputStream();
+                for (ItemBatchResultDto result : results) {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable Long itemId,
                               @RequestBody ItemDto itemDto,
@@ -36,13 +70,27 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemWithBookingsDto> getUserItems(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        return itemService.getUserItems(ownerId);
+    public List<ItemWithBookingsDto> getUserItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                  @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.getUserItems(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") Integer from,
+                                     @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable Long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, userId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time during which an item is taken, without saying by whom: {@code [start, end)}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusyIntervalDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Busy intervals of an item within {@code [from, to)}. The bookings behind them are listed only for the owner
+ * of the item and are null for everyone else.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Boolean available;
+    private List<BusyIntervalDto> busy;
+    private List<BookingDto> bookings;
+}
\ No newline at end of file
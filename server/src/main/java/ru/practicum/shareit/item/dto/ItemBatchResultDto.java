@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a batch import: the created item, or the reason the row was skipped.
+ * {@code index} is the position of the row in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchResultDto {
+    private int index;
+    private ItemDto item;
+    private String error;
+}
\ No newline at end of file
@@ -1,17 +1,46 @@
 package ru.practicum.shareit.item.model;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(Long ownerId);
+    boolean existsByOwnerId(Long ownerId);
 
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(
-            String name, String description);
+    @Query("SELECT i.id FROM Item i WHERE i.ownerId = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    List<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
+
+    @Query("SELECT i FROM Item i WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, i.id")
+    List<Item> searchAvailable(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY GREATEST(similarity(LOWER(i.name), :text), " +
+            "similarity(COALESCE(LOWER(i.description), ''), :text)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchAvailableBySimilarity(@Param("pattern") String pattern,
+                                           @Param("text") String text,
+                                           Pageable pageable);
 
     List<Item> findByRequestIdIn(List<Long> requestIds);
 
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Locks the item row until the end of the transaction so that bookings of one item are checked one at a time.
+     */
+    @Query(value = "SELECT id FROM items WHERE id = :itemId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("itemId") Long itemId);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an item has been created or updated.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSavedEvent {
+    private final Item item;
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over item names and descriptions kept in the server's memory.
+ * <p>
+ * Text is lower-cased and split into alphanumeric tokens; every character trigram of every token
+ * maps to a posting list of item ids. A query is answered by intersecting the posting lists of its
+ * trigrams and checking the remaining candidates for a substring match, which keeps the semantics
+ * of the database {@code LIKE '%text%'} search. Queries without any trigram (one or two letters)
+ * scan all indexed items. Items are kept as detached copies, so search never touches the database.
+ */
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final LongPostingList allIds = new LongPostingList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = text.toLowerCase();
+        Set<Long> queryGrams = grams(query);
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE) : 0;
+        int to = pageable.isPaged() ? (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE)
+                : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            List<LongPostingList> lists = queryGrams.isEmpty() ? List.of(allIds) : postingListsOf(queryGrams);
+            if (lists.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            // Candidates come in id order, so name matches followed by description-only matches
+            // is already the ranked order and the scan can stop once the page is filled by name matches.
+            List<IndexedItem> nameMatches = new ArrayList<>();
+            List<IndexedItem> descriptionMatches = new ArrayList<>();
+            LongPostingList smallest = lists.get(0);
+            candidates:
+            for (int i = 0; i < smallest.size() && nameMatches.size() < to; i++) {
+                long id = smallest.get(i);
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                IndexedItem item = items.get(id);
+                if (!Boolean.TRUE.equals(item.item.getAvailable())) {
+                    continue;
+                }
+                if (item.name.contains(query)) {
+                    nameMatches.add(item);
+                } else if (descriptionMatches.size() < to && item.description.contains(query)) {
+                    descriptionMatches.add(item);
+                }
+            }
+
+            List<Item> page = new ArrayList<>();
+            for (int position = from; position < to; position++) {
+                IndexedItem match;
+                if (position < nameMatches.size()) {
+                    match = nameMatches.get(position);
+                } else if (position - nameMatches.size() < descriptionMatches.size()) {
+                    match = descriptionMatches.get(position - nameMatches.size());
+                } else {
+                    break;
+                }
+                page.add(copyOf(match.item));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeFromPostings(item.getId());
+            IndexedItem indexed = new IndexedItem(copyOf(item));
+            items.put(item.getId(), indexed);
+            allIds.add(item.getId());
+            for (Long gram : indexed.grams()) {
+                postings.computeIfAbsent(gram, key -> new LongPostingList()).add(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeByOwnerId(Long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ownedIds = items.values().stream()
+                    .filter(indexed -> ownerId.equals(indexed.item.getOwnerId()))
+                    .map(indexed -> indexed.item.getId())
+                    .toList();
+            ownedIds.forEach(this::removeFromPostings);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Iterable<Item> allItems) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            allIds.clear();
+            allItems.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<LongPostingList> postingListsOf(Set<Long> queryGrams) {
+        List<LongPostingList> lists = new ArrayList<>(queryGrams.size());
+        for (Long gram : queryGrams) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        return lists;
+    }
+
+    private void removeFromPostings(Long itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        allIds.remove(itemId);
+        for (Long gram : previous.grams()) {
+            LongPostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static Set<Long> grams(String lowerCaseText) {
+        Set<Long> grams = new HashSet<>();
+        int tokenStart = -1;
+        for (int i = 0; i <= lowerCaseText.length(); i++) {
+            boolean tokenChar = i < lowerCaseText.length() && Character.isLetterOrDigit(lowerCaseText.charAt(i));
+            if (tokenChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!tokenChar && tokenStart >= 0) {
+                for (int j = tokenStart; j + GRAM <= i; j++) {
+                    grams.add(((long) lowerCaseText.charAt(j) << 32)
+                            | ((long) lowerCaseText.charAt(j + 1) << 16)
+                            | lowerCaseText.charAt(j + 2));
+                }
+                tokenStart = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static Item copyOf(Item item) {
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwnerId(), item.getRequestId());
+    }
+
+    private static class IndexedItem {
+        private final Item item;
+        private final String name;
+        private final String description;
+
+        IndexedItem(Item item) {
+            this.item = item;
+            this.name = item.getName() == null ? "" : item.getName().toLowerCase();
+            this.description = item.getDescription() == null ? "" : item.getDescription().toLowerCase();
+        }
+
+        Set<Long> grams() {
+            Set<Long> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+}
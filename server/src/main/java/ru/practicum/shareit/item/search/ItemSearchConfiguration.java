@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the search engine; the pg_trgm extension and its indexes come from schema-postgresql.sql,
+ * so this only checks whether the extension is installed.
+ */
+@Slf4j
+@Configuration
+@Import(ItemSearchIndexUpdater.class)
+public class ItemSearchConfiguration {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    @Bean
+    public ItemSearchEngine itemSearchEngine(DataSource dataSource, ItemRepository itemRepository,
+                                             @Value("${shareit.search.in-memory.enabled:false}") boolean inMemory) {
+        if (inMemory) {
+            InMemoryItemSearchEngine engine = new InMemoryItemSearchEngine();
+            rebuild(engine, itemRepository);
+            log.info("Item search uses the in-memory index, {} items indexed", engine.size());
+            return engine;
+        }
+        if (isPostgres(dataSource)) {
+            if (hasTrigramExtension(dataSource)) {
+                log.info("Item search uses pg_trgm indexes");
+                return new TrigramItemSearchEngine(itemRepository);
+            }
+            log.warn("pg_trgm is not installed, item search falls back to LIKE");
+        }
+        return new LikeItemSearchEngine(itemRepository);
+    }
+
+    private static void rebuild(InMemoryItemSearchEngine engine, ItemRepository itemRepository) {
+        List<Item> allItems = new ArrayList<>();
+        List<Item> batch = itemRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(REBUILD_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            allItems.addAll(batch);
+            Long lastId = batch.get(batch.size() - 1).getId();
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+        }
+        engine.rebuild(allItems);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasTrigramExtension(DataSource dataSource) {
+        return Boolean.TRUE.equals(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+    }
+}
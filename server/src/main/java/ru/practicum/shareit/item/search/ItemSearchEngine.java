@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description contains the given text, best matches first.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    default void removeByOwnerId(Long ownerId) {
+    }
+
+    static String toLikePattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
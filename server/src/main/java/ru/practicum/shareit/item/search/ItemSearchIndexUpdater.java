@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+/**
+ * Keeps the search engine in step with committed changes only: the listeners run after the publishing transaction
+ * has committed, and not at all when it rolls back. Events published outside of a transaction are applied at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndexUpdater {
+    private final ItemSearchEngine itemSearchEngine;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        itemSearchEngine.index(event.getItem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        itemSearchEngine.removeByOwnerId(event.getUserId());
+    }
+}
\ No newline at end of file
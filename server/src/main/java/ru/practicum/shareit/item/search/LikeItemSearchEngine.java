@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Portable search: substring match ranked by name hits first. Used when the database
+ * has no trigram support (H2, or Postgres without the pg_trgm extension).
+ */
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchAvailable(ItemSearchEngine.toLikePattern(text), pageable);
+    }
+}
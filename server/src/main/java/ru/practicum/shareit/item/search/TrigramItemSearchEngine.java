@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Postgres search backed by pg_trgm GIN indexes on LOWER(name) and LOWER(description),
+ * which serve {@code LIKE '%text%'} directly. Results are ranked by trigram similarity.
+ */
+@RequiredArgsConstructor
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchAvailableBySimilarity(
+                ItemSearchEngine.toLikePattern(text), text.toLowerCase(), pageable);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the paging parameters of list requests and turns them into page requests. Every list is capped at
+ * {@code shareit.pagination.max-size} elements per page, whether it is paged by offset or by {@link SeekCursor}.
+ */
+@Component
+public class Pagination {
+    private final int maxPageSize;
+
+    public Pagination(@Value("${shareit.pagination.max-size:100}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * {@code size} elements starting at offset {@code from}, which need not be a multiple of {@code size}.
+     */
+    public Pageable offset(int from, int size) {
+        return offset(from, size, Sort.unsorted());
+    }
+
+    public Pageable offset(int from, int size, Sort sort) {
+        if (from < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid pagination parameters: from must be >= 0, size must be > 0");
+        }
+        requireMaxSize(size);
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    /**
+     * First {@code size} elements, for keyset pages whose position is part of the query.
+     */
+    public Pageable first(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid pagination parameters: size must be > 0");
+        }
+        requireMaxSize(size);
+        return PageRequest.of(0, size);
+    }
+
+    private void requireMaxSize(int size) {
+        if (size > maxPageSize) {
+            throw new IllegalArgumentException("Invalid pagination parameters: size must be <= " + maxPageSize);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a feed ordered by (timestamp DESC, id DESC).
+ * Serialized as {@code <timestamp>,<id>}, e.g. {@code 2024-01-15T10:00:00,42}:
+ * the timestamp and id of the last element of the previous page.
+ */
+@Getter
+@AllArgsConstructor
+public class SeekCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public static SeekCursor parse(String value) {
+        int separator = value == null ? -1 : value.lastIndexOf(',');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new SeekCursor(
+                    LocalDateTime.parse(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim())
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + "," + id;
+    }
+}
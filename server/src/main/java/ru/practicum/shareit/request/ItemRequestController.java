@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import lombok.RequiredArgsConstructor;
@@ -30,9 +31,10 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequests(@RequestHeader(USER_ID_HEADER) Long userId,
                                                @RequestParam(defaultValue = "0") int from,
-                                               @RequestParam(defaultValue = "10") int size) {
-        if (from < 0 || size <= 0) {
-            throw new IllegalArgumentException("Invalid pagination parameters");
+                                               @RequestParam(defaultValue = "10") int size,
+                                               @RequestParam(required = false) String after) {
+        if (after != null) {
+            return itemRequestService.getAllRequests(userId, SeekCursor.parse(after), size);
         }
         return itemRequestService.getAllRequests(userId, from, size);
     }
@@ -2,7 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -10,4 +15,15 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     List<ItemRequest> findByRequesterId(Long requesterId);
 
     List<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requesterId <> :requesterId " +
+            "AND (r.created < :afterCreated OR (r.created = :afterCreated AND r.id < :afterId)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findByRequesterIdNotAfter(@Param("requesterId") Long requesterId,
+                                                @Param("afterCreated") LocalDateTime afterCreated,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
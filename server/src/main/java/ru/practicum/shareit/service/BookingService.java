@@ -1,8 +1,11 @@
 package ru.practicum.shareit.service;
 
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.SeekCursor;
 
 import java.util.List;
 
@@ -11,9 +14,15 @@ public interface BookingService {
 
     BookingResponseDto approveBooking(Long bookingId, boolean approved, Long ownerId);
 
+    List<BookingDecisionResultDto> approveBookings(BookingBulkDecisionDto decision, Long ownerId);
+
     BookingResponseDto getBooking(Long bookingId, Long userId);
 
-    List<BookingResponseDto> getUserBookings(Long userId, BookingState state);
+    List<BookingResponseDto> getUserBookings(Long userId, BookingState state, int from, int size);
+
+    List<BookingResponseDto> getUserBookings(Long userId, BookingState state, SeekCursor after, int size);
+
+    List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state, int from, int size);
 
-    List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state);
+    List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state, SeekCursor after, int size);
 }
\ No newline at end of file
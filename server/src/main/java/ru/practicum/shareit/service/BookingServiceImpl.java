@@ -1,23 +1,43 @@
 package ru.practicum.shareit.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.booking.BookingSpecifications.after;
+import static ru.practicum.shareit.booking.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.BookingSpecifications.ofItemsOwnedBy;
+
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
@@ -25,13 +45,22 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingCalendar bookingCalendar;
+    private final Pagination pagination;
+
+    @Value("${shareit.bookings.bulk.max-size:100}")
+    private int maxBulkSize;
 
+    /**
+     * Serializes bookings of one item on its row lock, so the overlap check and the insert cannot interleave
+     * with another request for the same item. Works the same on H2 and PostgreSQL.
+     */
     @Override
+    @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long userId) {
-        userService.getUser(userId);
+        UserDto bookerDto = userService.getUser(userId);
 
-        Item item = itemRepository.findById(bookingRequestDto.getItemId())
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Item item = itemService.findItem(bookingRequestDto.getItemId());
 
         if (!item.getAvailable()) {
             throw new IllegalArgumentException("Item is not available for booking");
@@ -62,140 +91,196 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("End date cannot be in the past");
         }
 
+        itemRepository.lockById(item.getId())
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        if (bookingCalendar.hasOverlap(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            throw new BookingOverlapException("Item is already booked for the requested dates");
+        }
+
         Booking booking = BookingMapper.toBooking(bookingRequestDto, userId);
         booking.setStatus(BookingStatus.WAITING);
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingCalendar.onSaved(savedBooking);
 
-        ItemDto itemDto = itemService.getItem(item.getId());
-        UserDto bookerDto = userService.getUser(userId);
-
-        return BookingMapper.toBookingResponseDto(savedBooking, itemDto, bookerDto);
+        return BookingMapper.toBookingResponseDto(savedBooking, ItemMapper.toItemDto(item), bookerDto);
     }
 
+    /**
+     * Moves the booking out of WAITING with one conditional UPDATE that also checks ownership, so two concurrent
+     * decisions cannot both win. The booking is only read back to build the response, or to tell why nothing was
+     * updated.
+     */
     @Override
+    @Transactional
     public BookingResponseDto approveBooking(Long bookingId, boolean approved, Long ownerId) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = bookingRepository.decideWaiting(bookingId, ownerId, status);
+
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        Item item = itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Item item = itemService.findItem(booking.getItemId());
 
-        if (!item.getOwnerId().equals(ownerId)) {
-            throw new IllegalArgumentException("Only item owner can approve booking");
+        if (updated == 0) {
+            if (!item.getOwnerId().equals(ownerId)) {
+                throw new IllegalArgumentException("Only item owner can approve booking");
+            }
+            throw new IllegalArgumentException("Booking is not waiting for approval");
         }
+        bookingCalendar.onSaved(booking);
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new IllegalArgumentException("Booking is not waiting for approval");
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        UserDto bookerDto = userService.getUser(booking.getBookerId());
+
+        return BookingMapper.toBookingResponseDto(booking, itemDto, bookerDto);
+    }
+
+    /**
+     * Decides many bookings of one owner with a locking select that also checks ownership and one UPDATE for all
+     * of them that are still waiting. Bookings that cannot be decided are reported per id instead of failing the
+     * whole call; telling a missing booking from a foreign one costs one more select, and only when there are such.
+     */
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveBookings(BookingBulkDecisionDto decision, Long ownerId) {
+        if (decision.getBookingIds() == null || decision.getBookingIds().isEmpty()) {
+            throw new IllegalArgumentException("Booking ids cannot be empty");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        if (decision.getApproved() == null) {
+            throw new IllegalArgumentException("Decision cannot be null");
+        }
+
+        Set<Long> bookingIds = new LinkedHashSet<>(decision.getBookingIds());
+        if (bookingIds.contains(null)) {
+            throw new IllegalArgumentException("Booking ids cannot contain null");
+        }
 
-        ItemDto itemDto = itemService.getItem(item.getId());
-        UserDto bookerDto = userService.getUser(updatedBooking.getBookerId());
+        if (bookingIds.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " bookings can be decided at once");
+        }
+
+        Map<Long, Booking> ownedById = bookingRepository.findOwnedForUpdate(bookingIds, ownerId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> waitingIds = ownedById.values().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                .map(Booking::getId)
+                .collect(Collectors.toSet());
 
-        return BookingMapper.toBookingResponseDto(updatedBooking, itemDto, bookerDto);
+        BookingStatus status = decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (!waitingIds.isEmpty()) {
+            bookingRepository.decideAllWaiting(waitingIds, status);
+        }
+        waitingIds.forEach(bookingId -> {
+            Booking booking = ownedById.get(bookingId);
+            booking.setStatus(status);
+            bookingCalendar.onSaved(booking);
+        });
+
+        Set<Long> foreignIds = Set.of();
+        if (ownedById.size() < bookingIds.size()) {
+            foreignIds = bookingRepository.findAllById(bookingIds.stream()
+                            .filter(id -> !ownedById.containsKey(id))
+                            .collect(Collectors.toList())).stream()
+                    .map(Booking::getId)
+                    .collect(Collectors.toSet());
+        }
+
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            Booking booking = ownedById.get(bookingId);
+            if (booking == null) {
+                results.add(new BookingDecisionResultDto(bookingId, null, foreignIds.contains(bookingId)
+                        ? "Only item owner can approve booking"
+                        : "Booking not found"));
+            } else if (waitingIds.contains(bookingId)) {
+                results.add(new BookingDecisionResultDto(bookingId, status.name(), null));
+            } else {
+                results.add(new BookingDecisionResultDto(bookingId, booking.getStatus().name(),
+                        "Booking is not waiting for approval"));
+            }
+        }
+        return results;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingResponseDto getBooking(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        Item item = itemRepository.findById(booking.getItemId())
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Item item = itemService.findItem(booking.getItemId());
 
         if (!booking.getBookerId().equals(userId) && !item.getOwnerId().equals(userId)) {
             throw new RuntimeException("Access denied");
         }
 
-        ItemDto itemDto = itemService.getItem(item.getId());
+        ItemDto itemDto = ItemMapper.toItemDto(item);
         UserDto bookerDto = userService.getUser(booking.getBookerId());
 
         return BookingMapper.toBookingResponseDto(booking, itemDto, bookerDto);
     }
 
     @Override
-    public List<BookingResponseDto> getUserBookings(Long userId, BookingState state) {
-        userService.getUser(userId);
-
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
-                break;
-            default:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId);
-        }
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getUserBookings(Long userId, BookingState state, int from, int size) {
+        userService.requireExists(userId);
 
-        return bookings.stream()
-                .map(booking -> {
-                    ItemDto itemDto = itemService.getItem(booking.getItemId());
-                    UserDto bookerDto = userService.getUser(booking.getBookerId());
-                    return BookingMapper.toBookingResponseDto(booking, itemDto, bookerDto);
-                })
-                .collect(Collectors.toList());
+        List<BookingView> bookings = bookingRepository.findFeed(
+                bookedBy(userId).and(inState(state, LocalDateTime.now())), pagination.offset(from, size));
+
+        return toBookingResponseDtos(bookings);
     }
 
     @Override
-    public List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state) {
-        userService.getUser(ownerId);
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state, int from, int size) {
+        userService.requireExists(ownerId);
 
-        List<Item> ownerItems = itemRepository.findByOwnerId(ownerId);
-        if (ownerItems.isEmpty()) {
-            throw new RuntimeException("User has no items");
-        }
+        List<BookingView> bookings = bookingRepository.findFeed(
+                ofItemsOwnedBy(ownerId).and(inState(state, LocalDateTime.now())), pagination.offset(from, size));
+        requireItemsIfEmpty(ownerId, bookings);
 
-        List<Long> itemIds = ownerItems.stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
+        return toBookingResponseDtos(bookings);
+    }
 
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-                        itemIds, now, now);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemIdInAndEndBeforeOrderByStartDesc(itemIds, now);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemIdInAndStartAfterOrderByStartDesc(itemIds, now);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemIdInAndStatusOrderByStartDesc(itemIds, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemIdInAndStatusOrderByStartDesc(itemIds, BookingStatus.REJECTED);
-                break;
-            default:
-                bookings = bookingRepository.findByItemIdInOrderByStartDesc(itemIds);
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getUserBookings(Long userId, BookingState state, SeekCursor after, int size) {
+        userService.requireExists(userId);
+
+        List<BookingView> bookings = bookingRepository.findFeed(
+                bookedBy(userId).and(inState(state, LocalDateTime.now())).and(after(after)), pagination.first(size));
+
+        return toBookingResponseDtos(bookings);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getOwnerBookings(Long ownerId, BookingState state, SeekCursor after, int size) {
+        userService.requireExists(ownerId);
+
+        List<BookingView> bookings = bookingRepository.findFeed(
+                ofItemsOwnedBy(ownerId).and(inState(state, LocalDateTime.now())).and(after(after)),
+                pagination.first(size));
+        requireItemsIfEmpty(ownerId, bookings);
+
+        return toBookingResponseDtos(bookings);
+    }
+
+    /**
+     * An owner without items is an error rather than an empty feed. Only an empty page needs the extra query.
+     */
+    private void requireItemsIfEmpty(Long ownerId, List<BookingView> bookings) {
+        if (bookings.isEmpty() && !itemRepository.existsByOwnerId(ownerId)) {
+            throw new RuntimeException("User has no items");
         }
+    }
 
+    private static List<BookingResponseDto> toBookingResponseDtos(List<BookingView> bookings) {
         return bookings.stream()
-                .map(booking -> {
-                    ItemDto itemDto = itemService.getItem(booking.getItemId());
-                    UserDto bookerDto = userService.getUser(booking.getBookerId());
-                    return BookingMapper.toBookingResponseDto(booking, itemDto, bookerDto);
-                })
+                .map(BookingMapper::toBookingResponseDto)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
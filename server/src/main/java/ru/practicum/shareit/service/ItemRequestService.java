@@ -1,5 +1,6 @@
 package ru.practicum.shareit.service;
 
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllRequests(Long userId, int from, int size);
 
+    List<ItemRequestDto> getAllRequests(Long userId, SeekCursor after, int size);
+
     ItemRequestDto getRequestById(Long requestId, Long userId);
 }
\ No newline at end of file
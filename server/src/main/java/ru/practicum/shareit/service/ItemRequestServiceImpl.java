@@ -1,14 +1,15 @@
 package ru.practicum.shareit.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
@@ -26,10 +27,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
+    private final Pagination pagination;
 
     @Override
+    @Transactional
     public ItemRequestDto createItemRequest(ItemRequestCreateDto itemRequestCreateDto, Long userId) {
-        userService.getUser(userId);
+        userService.requireExists(userId);
 
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestCreateDto, userId);
         ItemRequest savedRequest = itemRequestRepository.save(itemRequest);
@@ -38,53 +41,42 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getUserRequests(Long userId) {
-        userService.getUser(userId);
+        userService.requireExists(userId);
 
         List<ItemRequest> requests = itemRequestRepository.findByRequesterId(userId);
         requests.sort((r1, r2) -> r2.getCreated().compareTo(r1.getCreated()));
 
-        List<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toList());
-        Map<Long, List<ItemDto>> itemsByRequestId = getItemsByRequestIds(requestIds);
-
-        return requests.stream()
-                .map(request -> ItemRequestMapper.toItemRequestDto(
-                        request,
-                        itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())
-                ))
-                .collect(Collectors.toList());
+        return toItemRequestDtos(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId, int from, int size) {
-        userService.getUser(userId);
+        userService.requireExists(userId);
 
-        if (from < 0 || size <= 0) {
-            throw new IllegalArgumentException("Invalid pagination parameters: from must be >= 0, size must be > 0");
-        }
+        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNot(
+                userId, pagination.offset(from, size, Sort.by(Sort.Direction.DESC, "created")));
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"));
+        return toItemRequestDtos(requests);
+    }
 
-        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNot(userId, pageable);
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getAllRequests(Long userId, SeekCursor after, int size) {
+        userService.requireExists(userId);
 
-        List<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toList());
-        Map<Long, List<ItemDto>> itemsByRequestId = getItemsByRequestIds(requestIds);
+        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNotAfter(
+                userId, after.getTimestamp(), after.getId(), pagination.first(size));
 
-        return requests.stream()
-                .map(request -> ItemRequestMapper.toItemRequestDto(
-                        request,
-                        itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())
-                ))
-                .collect(Collectors.toList());
+        return toItemRequestDtos(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(Long requestId, Long userId) {
-        userService.getUser(userId);
+        userService.requireExists(userId);
 
         ItemRequest request = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new RuntimeException("Request not found"));
@@ -94,6 +86,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDto(request, items);
     }
 
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = getItemsByRequestIds(requestIds);
+
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(
+                        request,
+                        itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())
+                ))
+                .collect(Collectors.toList());
+    }
+
     private Map<Long, List<ItemDto>> getItemsByRequestIds(List<Long> requestIds) {
         if (requestIds.isEmpty()) {
             return Collections.emptyMap();
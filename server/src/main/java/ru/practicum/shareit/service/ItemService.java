@@ -2,24 +2,47 @@ package ru.practicum.shareit.service;
 
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long ownerId);
 
+    /**
+     * Creates the valid rows of {@code itemDtos} in chunks that commit one by one and hands the results of each
+     * chunk to {@code chunkResults} once it has committed or rolled back, in row order. Invalid rows, and the rows
+     * of a chunk that could not be saved, are reported instead of failing the call.
+     */
+    void createItems(List<ItemDto> itemDtos, Long ownerId, Consumer<List<ItemBatchResultDto>> chunkResults);
+
     ItemDto updateItem(Long itemId, ItemDto itemDto, Long ownerId);
 
     ItemDto getItem(Long itemId);
 
-    List<ItemWithBookingsDto> getUserItems(Long ownerId);
+    /**
+     * Returns a copy of the cached item, so changes made by the caller do not reach the cache.
+     */
+    Item findItem(Long itemId);
+
+    List<ItemWithBookingsDto> getUserItems(Long ownerId, int from, int size);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, int from, int size);
 
     ItemWithBookingsDto getItemWithBookingsAndComments(Long itemId, Long userId);
 
+    /**
+     * Anyone may see when the item is busy; only its owner also gets the bookings. Only the part of the range that is
+     * still ahead is answered, and a range that has already ended is rejected.
+     */
+    ItemAvailabilityDto getItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
     CommentDto addComment(Long itemId, CommentCreateDto commentCreateDto, Long userId);
 
     List<ItemDto> getItemsByRequest(Long requestId);
@@ -1,14 +1,28 @@
 package ru.practicum.shareit.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -16,28 +30,48 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.model.ItemSavedEvent;
 import ru.practicum.shareit.item.model.CommentRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int IMPORT_CHUNK_SIZE = 500;
+
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final CacheManager cacheManager;
+    private final BookingCalendar bookingCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Pagination pagination;
+
+    @Value("${shareit.items.batch.max-size:10000}")
+    private int maxBatchSize;
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, Long ownerId) {
-        userService.getUser(ownerId);
+        userService.requireExists(ownerId);
 
         if (itemDto.getRequestId() != null) {
             itemRequestRepository.findById(itemDto.getRequestId())
@@ -46,10 +80,80 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toItem(itemDto, ownerId);
         Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+        cacheItem(savedItem);
         return ItemMapper.toItemDto(savedItem);
     }
 
+    /**
+     * Checks the owner once and all request ids in one query, then saves each chunk with saveAll: every chunk is
+     * its own transaction, and Hibernate sends its inserts in JDBC batches because item ids come from a pooled
+     * sequence. New items are indexed for search but not cached, so an import does not evict the hot items. A chunk
+     * that fails to save is reported row by row and the import goes on with the next chunk.
+     */
+    @Override
+    public void createItems(List<ItemDto> itemDtos, Long ownerId, Consumer<List<ItemBatchResultDto>> chunkResults) {
+        if (itemDtos == null || itemDtos.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be empty");
+        }
+
+        if (itemDtos.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " items can be created at once");
+        }
+
+        userService.requireExists(ownerId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownRequestIds = requestIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+
+        for (int from = 0; from < itemDtos.size(); from += IMPORT_CHUNK_SIZE) {
+            int to = Math.min(from + IMPORT_CHUNK_SIZE, itemDtos.size());
+            ItemBatchResultDto[] results = new ItemBatchResultDto[to - from];
+            List<Item> items = new ArrayList<>();
+            List<Integer> itemIndexes = new ArrayList<>();
+
+            for (int index = from; index < to; index++) {
+                ItemDto itemDto = itemDtos.get(index);
+                String error = validateNewItem(itemDto, knownRequestIds);
+                if (error != null) {
+                    results[index - from] = new ItemBatchResultDto(index, null, error);
+                } else {
+                    items.add(ItemMapper.toItem(itemDto, ownerId));
+                    itemIndexes.add(index);
+                }
+            }
+
+            List<Item> savedItems;
+            try {
+                savedItems = items.isEmpty() ? items : itemRepository.saveAll(items);
+            } catch (DataAccessException | TransactionException e) {
+                // the chunk was rolled back as a whole; the chunks already streamed stay committed
+                String error = "Rows " + from + " to " + (to - 1) + " could not be saved";
+                for (int index : itemIndexes) {
+                    results[index - from] = new ItemBatchResultDto(index, null, error);
+                }
+                chunkResults.accept(List.of(results));
+                continue;
+            }
+            for (int i = 0; i < savedItems.size(); i++) {
+                Item savedItem = savedItems.get(i);
+                eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+                int index = itemIndexes.get(i);
+                results[index - from] = new ItemBatchResultDto(index, ItemMapper.toItemDto(savedItem), null);
+            }
+
+            chunkResults.accept(List.of(results));
+        }
+    }
+
     @Override
+    @Transactional
     public ItemDto updateItem(Long itemId, ItemDto itemDto, Long ownerId) {
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
@@ -75,26 +179,56 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
+        eventPublisher.publishEvent(new ItemSavedEvent(updatedItem));
+        cacheItem(updatedItem);
         return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItem(Long itemId) {
+        return ItemMapper.toItemDto(findItem(itemId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Item findItem(Long itemId) {
+        Cache.ValueWrapper cached = getItemCache().get(itemId);
+        if (cached != null) {
+            return copyOf((Item) cached.get());
+        }
+
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
-        return ItemMapper.toItemDto(item);
+        // a concurrent update puts its committed state; an older read must not replace it
+        getItemCache().putIfAbsent(itemId, copyOf(item));
+        return copyOf(item);
     }
 
     @Override
-    public List<ItemWithBookingsDto> getUserItems(Long ownerId) {
-        userService.getUser(ownerId);
+    @Transactional(readOnly = true)
+    public List<ItemWithBookingsDto> getUserItems(Long ownerId, int from, int size) {
+        Pageable pageable = pagination.offset(from, size);
+        userService.requireExists(ownerId);
 
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        List<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(ownerId, pageable);
         LocalDateTime now = LocalDateTime.now();
 
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         Map<Long, List<CommentDto>> commentsByItemId = getCommentsByItemIds(itemIds);
 
+        Map<Long, Booking> lastBookingByItemId = new HashMap<>();
+        Map<Long, Booking> nextBookingByItemId = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            for (Booking booking : bookingCalendar.findLastAndNextApproved(itemIds, now)) {
+                if (booking.getEnd().isAfter(now)) {
+                    nextBookingByItemId.put(booking.getItemId(), booking);
+                } else {
+                    lastBookingByItemId.put(booking.getItemId(), booking);
+                }
+            }
+        }
+
         return items.stream()
                 .map(item -> {
                     ItemWithBookingsDto itemWithBookings = new ItemWithBookingsDto();
@@ -104,16 +238,14 @@ public class ItemServiceImpl implements ItemService {
                     itemWithBookings.setAvailable(item.getAvailable());
                     itemWithBookings.setComments(commentsByItemId.getOrDefault(item.getId(), new ArrayList<>()));
 
-                    List<Booking> lastBookings = bookingRepository.findLastBooking(item.getId(), now);
-                    if (!lastBookings.isEmpty()) {
-                        BookingDto lastBookingDto = BookingMapper.toBookingDto(lastBookings.get(0));
-                        itemWithBookings.setLastBooking(lastBookingDto);
+                    Booking lastBooking = lastBookingByItemId.get(item.getId());
+                    if (lastBooking != null) {
+                        itemWithBookings.setLastBooking(BookingMapper.toBookingDto(lastBooking));
                     }
 
-                    List<Booking> nextBookings = bookingRepository.findNextBooking(item.getId(), now);
-                    if (!nextBookings.isEmpty()) {
-                        BookingDto nextBookingDto = BookingMapper.toBookingDto(nextBookings.get(0));
-                        itemWithBookings.setNextBooking(nextBookingDto);
+                    Booking nextBooking = nextBookingByItemId.get(item.getId());
+                    if (nextBooking != null) {
+                        itemWithBookings.setNextBooking(BookingMapper.toBookingDto(nextBooking));
                     }
 
                     return itemWithBookings;
@@ -121,27 +253,27 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Left without a transaction: the database engine runs a single query, and the in-memory one needs no connection.
+     */
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchItems(String text, int from, int size) {
+        Pageable pageable = pagination.offset(from, size);
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
 
-        String searchText = text.toLowerCase();
-        return itemRepository
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(
-                        searchText, searchText)
+        return itemSearchEngine.search(text, pageable)
                 .stream()
-                .filter(Item::getAvailable)
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(Long itemId, CommentCreateDto commentCreateDto, Long userId) {
-        userService.getUser(userId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        UserDto author = userService.getUser(userId);
+        Item item = findItem(itemId);
 
         List<Booking> userBookings = bookingRepository.findByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now());
 
@@ -156,47 +288,66 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toComment(commentCreateDto, itemId, userId);
         Comment savedComment = commentRepository.save(comment);
 
-        UserDto author = userService.getUser(userId);
         return CommentMapper.toCommentDto(savedComment, author);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemWithBookingsDto getItemWithBookingsAndComments(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Item item = findItem(itemId);
 
         ItemWithBookingsDto itemWithBookings = ItemMapper.toItemWithBookingsDto(item);
 
         List<Comment> comments = commentRepository.findByItemId(itemId);
-        List<CommentDto> commentDtos = comments.stream()
-                .map(comment -> {
-                    UserDto author = userService.getUser(comment.getAuthorId());
-                    return CommentMapper.toCommentDto(comment, author);
-                })
-                .collect(Collectors.toList());
-
-        itemWithBookings.setComments(commentDtos);
+        itemWithBookings.setComments(toCommentDtos(comments));
 
         if (item.getOwnerId().equals(userId)) {
             LocalDateTime now = LocalDateTime.now();
 
-            List<Booking> lastBookings = bookingRepository.findLastBooking(itemId, now);
-            if (!lastBookings.isEmpty()) {
-                BookingDto lastBookingDto = BookingMapper.toBookingDto(lastBookings.get(0));
-                itemWithBookings.setLastBooking(lastBookingDto);
-            }
+            bookingCalendar.findLastApproved(itemId, now)
+                    .map(BookingMapper::toBookingDto)
+                    .ifPresent(itemWithBookings::setLastBooking);
 
-            List<Booking> nextBookings = bookingRepository.findNextBooking(itemId, now);
-            if (!nextBookings.isEmpty()) {
-                BookingDto nextBookingDto = BookingMapper.toBookingDto(nextBookings.get(0));
-                itemWithBookings.setNextBooking(nextBookingDto);
-            }
+            bookingCalendar.findNextApproved(itemId, now)
+                    .map(BookingMapper::toBookingDto)
+                    .ifPresent(itemWithBookings::setNextBooking);
         }
 
         return itemWithBookings;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Invalid availability range: from must be before to");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!to.isAfter(now)) {
+            throw new IllegalArgumentException("Invalid availability range: to must be in the future");
+        }
+        userService.requireExists(userId);
+        Item item = findItem(itemId);
+
+        // the in-memory calendar drops ended bookings, so only the part of the range still ahead is answered
+        LocalDateTime since = from.isBefore(now) ? now : from;
+        List<Booking> overlapping = bookingCalendar.findOverlapping(itemId, since, to);
+        List<BusyIntervalDto> busy = overlapping.stream()
+                .map(booking -> new BusyIntervalDto(booking.getStart(), booking.getEnd()))
+                .collect(Collectors.toList());
+        List<BookingDto> bookings = null;
+        if (item.getOwnerId().equals(userId)) {
+            bookings = overlapping.stream()
+                    .map(BookingMapper::toBookingDto)
+                    .collect(Collectors.toList());
+        }
+        boolean available = Boolean.TRUE.equals(item.getAvailable()) && overlapping.isEmpty();
+
+        return new ItemAvailabilityDto(itemId, from, to, available, busy, bookings);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getItemsByRequest(Long requestId) {
         List<Item> items = itemRepository.findByRequestId(requestId);
         return items.stream()
@@ -205,15 +356,75 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private Map<Long, List<CommentDto>> getCommentsByItemIds(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
         List<Comment> comments = commentRepository.findByItemIdIn(itemIds);
+        Map<Long, UserDto> authorsById = getCommentAuthors(comments);
 
         return comments.stream()
                 .collect(Collectors.groupingBy(
                         Comment::getItemId,
-                        Collectors.mapping(comment -> {
-                            UserDto author = userService.getUser(comment.getAuthorId());
-                            return CommentMapper.toCommentDto(comment, author);
-                        }, Collectors.toList())
+                        Collectors.mapping(comment -> CommentMapper.toCommentDto(
+                                comment, authorsById.get(comment.getAuthorId())), Collectors.toList())
                 ));
     }
+
+    private List<CommentDto> toCommentDtos(List<Comment> comments) {
+        Map<Long, UserDto> authorsById = getCommentAuthors(comments);
+
+        return comments.stream()
+                .map(comment -> CommentMapper.toCommentDto(comment, authorsById.get(comment.getAuthorId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, UserDto> getCommentAuthors(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Set<Long> authorIds = comments.stream()
+                .map(Comment::getAuthorId)
+                .collect(Collectors.toSet());
+
+        return userService.getUsersByIds(authorIds).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+    }
+
+    private static String validateNewItem(ItemDto itemDto, Set<Long> knownRequestIds) {
+        if (itemDto == null) {
+            return "Item cannot be null";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Name cannot be blank";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Description cannot be blank";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Available status cannot be null";
+        }
+        if (itemDto.getRequestId() != null && !knownRequestIds.contains(itemDto.getRequestId())) {
+            return "Request not found with id: " + itemDto.getRequestId();
+        }
+        return null;
+    }
+
+    private Cache getItemCache() {
+        return cacheManager.getCache(CacheConfiguration.ITEMS_CACHE);
+    }
+
+    /**
+     * Write-through of a saved item. The put is deferred until the transaction commits, so a rollback leaves the
+     * cached state untouched.
+     */
+    private void cacheItem(Item item) {
+        new TransactionAwareCacheDecorator(getItemCache()).put(item.getId(), copyOf(item));
+    }
+
+    private static Item copyOf(Item item) {
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwnerId(), item.getRequestId());
+    }
 }
\ No newline at end of file
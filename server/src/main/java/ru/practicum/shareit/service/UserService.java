@@ -1,6 +1,7 @@
 package ru.practicum.shareit.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
@@ -10,6 +11,10 @@ public interface UserService {
 
     UserDto getUser(Long userId);
 
+    void requireExists(Long userId);
+
+    List<UserDto> getUsersByIds(Collection<Long> userIds);
+
     List<UserDto> getAllUsers();
 
     void deleteUser(Long userId);
@@ -1,21 +1,36 @@
 package ru.practicum.shareit.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.model.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletedEvent;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         if (userRepository.findByEmail(userDto.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("Email already exists");
@@ -27,6 +42,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(Long userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -44,29 +60,89 @@ public class UserServiceImpl implements UserService {
             existingUser.setEmail(userDto.getEmail());
         }
 
-        User updatedUser = userRepository.save(existingUser);
-        return UserMapper.toUserDto(updatedUser);
+        UserDto updatedUser = UserMapper.toUserDto(userRepository.save(existingUser));
+        cacheUser(updatedUser);
+        return updatedUser;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUser(Long userId) {
-        User user = userRepository.findById(userId)
+        Cache.ValueWrapper cached = getUserCache().get(userId);
+        if (cached != null) {
+            return copyOf((UserDto) cached.get());
+        }
+
+        UserDto user = userRepository.findById(userId)
+                .map(UserMapper::toUserDto)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return UserMapper.toUserDto(user);
+        // a concurrent update puts its committed state; an older read must not replace it
+        getUserCache().putIfAbsent(userId, copyOf(user));
+        return user;
     }
 
+    /**
+     * Checks the user cache first and falls back to an existence query, so no row is loaded or mapped.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public void requireExists(Long userId) {
+        if (getUserCache().get(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByIds(Collection<Long> userIds) {
+        return userRepository.findAllById(userIds).stream()
+                .map(UserMapper::toUserDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(UserMapper::toUserDto)
                 .toList();
     }
 
+    /**
+     * The user's items go away with the user (ON DELETE CASCADE), so the item cache is dropped as well. The search
+     * index and the booking calendar follow the {@link UserDeletedEvent} once the deletion has committed.
+     */
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfiguration.ITEMS_CACHE, allEntries = true)
+    })
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found");
         }
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(userId);
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, itemIds));
+    }
+
+    private Cache getUserCache() {
+        return cacheManager.getCache(CacheConfiguration.USERS_CACHE);
+    }
+
+    /**
+     * Write-through of an updated user. The put is deferred until the transaction commits, so a rollback leaves the
+     * cached state untouched.
+     */
+    private void cacheUser(UserDto user) {
+        new TransactionAwareCacheDecorator(getUserCache()).put(user.getId(), copyOf(user));
+    }
+
+    private static UserDto copyOf(UserDto user) {
+        return new UserDto(user.getId(), user.getName(), user.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published when a user has been deleted; the user's items, bookings and comments go with it (ON DELETE CASCADE).
+ * The ids of the items the user owned are collected before the deletion, since they can no longer be queried after it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDeletedEvent {
+    private final Long userId;
+    private final List<Long> itemIds;
+}
\ No newline at end of file
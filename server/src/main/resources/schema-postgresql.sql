@@ -0,0 +1,33 @@
+-- Item search: pg_trgm GIN indexes serve LIKE '%text%' on name and description. The block only creates them
+-- where pg_trgm can be had: if the server does not ship it, or the application user may not create it and
+-- nobody installed it beforehand, it leaves a notice and item search falls back to LIKE. Doubled quotes: the
+-- block body is a single-quoted string, so that the script splitter keeps it in one statement.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_available_extensions WHERE name = ''pg_trgm'') THEN
+        RAISE NOTICE ''pg_trgm is not available, item search falls back to LIKE'';
+        RETURN;
+    END IF;
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (LOWER(name) gin_trgm_ops);
+    CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (LOWER(description) gin_trgm_ops);
+EXCEPTION WHEN insufficient_privilege THEN
+    RAISE NOTICE ''pg_trgm cannot be created by this user, item search falls back to LIKE'';
+END';
+
+-- Ids come from the *_seq sequences (allocation size 50): Hibernate takes each nextval as the top of a block
+-- of 50 ids. A database created before the sequences existed still has identity columns, and its new
+-- sequences start at 1 below rows that are already there. Drop the identity defaults and move every
+-- sequence up to the largest id in use. setval only ever moves a sequence forward, so this is safe to run
+-- on every start.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('users_seq', MAX(id)) FROM users HAVING MAX(id) >= (SELECT last_value FROM users_seq);
+SELECT setval('items_seq', MAX(id)) FROM items HAVING MAX(id) >= (SELECT last_value FROM items_seq);
+SELECT setval('bookings_seq', MAX(id)) FROM bookings HAVING MAX(id) >= (SELECT last_value FROM bookings_seq);
+SELECT setval('requests_seq', MAX(id)) FROM requests HAVING MAX(id) >= (SELECT last_value FROM requests_seq);
+SELECT setval('comments_seq', MAX(id)) FROM comments HAVING MAX(id) >= (SELECT last_value FROM comments_seq);
\ No newline at end of file
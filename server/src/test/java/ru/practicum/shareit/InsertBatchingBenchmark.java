@@ -0,0 +1,152 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.h2.tools.Server;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the JDBC traffic Hibernate produces when it persists {@code rows} bookings in one flush: one insert
+ * per row with IDENTITY ids, against one sequence call and one JDBC batch per 50 rows with pooled sequence ids.
+ * The database is an in-memory H2 behind its TCP server, so that every statement costs a loopback round trip
+ * as it would against PostgreSQL.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn -pl server test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath ru.practicum.shareit.InsertBatchingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+    private static final int BATCH_SIZE = 50;
+    private static final String INSERT = "INSERT INTO bookings (start_time, end_time, item_id, booker_id, status) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_WITH_ID = "INSERT INTO bookings (id, start_time, end_time, item_id, " +
+            "booker_id, status) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Param({"1000"})
+    private int rows;
+
+    private Server server;
+    private Connection connection;
+    private final Timestamp start = Timestamp.valueOf(LocalDateTime.of(2030, 1, 1, 10, 0));
+    private final Timestamp end = Timestamp.valueOf(LocalDateTime.of(2030, 1, 2, 10, 0));
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        connection = DriverManager.getConnection(
+                "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:insert-benchmark;DB_CLOSE_DELAY=-1");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY " + BATCH_SIZE);
+            statement.execute("CREATE TABLE bookings (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "start_time TIMESTAMP NOT NULL, end_time TIMESTAMP NOT NULL, item_id BIGINT NOT NULL, " +
+                    "booker_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL)");
+            statement.execute("ALTER TABLE bookings ALTER COLUMN id RESTART WITH 1000000000");
+        }
+        connection.commit();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE bookings");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public long identityInserts() throws SQLException {
+        long lastId = 0;
+        for (int i = 0; i < rows; i++) {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                insert.setTimestamp(1, start);
+                insert.setTimestamp(2, end);
+                insert.setLong(3, i);
+                insert.setLong(4, i);
+                insert.setString(5, "WAITING");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatchInserts() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement nextValue = connection.prepareStatement("SELECT NEXT VALUE FOR bookings_seq");
+             PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+            for (int i = 0; i < rows; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    try (ResultSet value = nextValue.executeQuery()) {
+                        value.next();
+                        lastId = value.getLong(1);
+                    }
+                }
+                insert.setLong(1, lastId + i % BATCH_SIZE);
+                insert.setTimestamp(2, start);
+                insert.setTimestamp(3, end);
+                insert.setLong(4, i);
+                insert.setLong(5, i);
+                insert.setString(6, "WAITING");
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InsertBatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that every entity takes its id from a pooled sequence, so that Hibernate sends the inserts of one
+ * flush in JDBC batches: a few statements per 50 rows instead of one per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InsertBatchingTest {
+    private static final int ROWS = 200;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void flush_shouldBatchInsertsOfEveryEntity() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = em.persistAndFlush(new User(null, "Owner", "batch-owner@email.com"));
+        Item item = em.persistAndFlush(new Item(null, "Drill", "Powerful drill", true, owner.getId(), null));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(new User(null, "User " + i, "batch-user" + i + "@email.com"));
+            entities.add(new ItemRequest(null, "Request " + i, owner.getId(), now));
+            entities.add(new Item(null, "Item " + i, "Description " + i, true, owner.getId(), null));
+            entities.add(new Booking(null, now.plusDays(i), now.plusDays(i + 1), item.getId(), owner.getId(),
+                    BookingStatus.WAITING));
+            entities.add(new Comment(null, "Comment " + i, item.getId(), owner.getId(), now));
+        }
+        entities.forEach(em::persist);
+        em.flush();
+
+        assertEquals(5 * ROWS, statistics.getEntityInsertCount());
+        // at most 5 sequence calls and 4 batches per entity, however the inserts interleave
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5 * 9);
+    }
+}
\ No newline at end of file
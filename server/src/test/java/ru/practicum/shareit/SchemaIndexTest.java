@@ -0,0 +1,103 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with EXPLAIN that every repository access path is served by an index whose leading
+ * columns match the query predicates. H2 indexes foreign key columns on its own, so an EXPLAIN on a
+ * single-column foreign key path passes even without the index from schema.sql; the declared indexes
+ * are therefore also looked up by name. Runs outside of a test transaction because ANALYZE commits.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaIndexTest {
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT 1000 + X, 'User', 'user' || X || '@email.com' FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "SELECT 1000 + X, 'Item', 'Description', TRUE, 1001 + MOD(X, 50) FROM SYSTEM_RANGE(1, 500)");
+        jdbcTemplate.update("INSERT INTO bookings (id, start_time, end_time, item_id, booker_id, status) " +
+                "SELECT 1000 + X, TIMESTAMP '2024-01-01 00:00:00' + X * INTERVAL '1' HOUR, " +
+                "TIMESTAMP '2024-01-01 00:00:00' + X * INTERVAL '2' HOUR, 1001 + MOD(X, 500), 1001 + MOD(X, 50), " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END " +
+                "FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE id > 1000");
+        jdbcTemplate.update("DELETE FROM items WHERE id > 1000");
+        jdbcTemplate.update("DELETE FROM users WHERE id > 1000");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "SELECT * FROM bookings WHERE booker_id = 1001 ORDER BY start_time DESC | BOOKER_ID",
+            "SELECT * FROM bookings WHERE booker_id = 1001 AND status = 'WAITING' ORDER BY start_time DESC"
+                    + " | BOOKER_ID,STATUS",
+            "SELECT * FROM bookings WHERE item_id IN (1001, 1002) ORDER BY start_time DESC | ITEM_ID",
+            "SELECT * FROM bookings WHERE item_id = 1001 AND status = 'APPROVED'"
+                    + " AND end_time <= TIMESTAMP '2024-06-01 00:00:00' ORDER BY end_time DESC"
+                    + " | ITEM_ID,STATUS,END_TIME",
+            "SELECT * FROM items WHERE owner_id = 1001 | OWNER_ID",
+            "SELECT * FROM items WHERE request_id IN (1, 2) | REQUEST_ID",
+            "SELECT * FROM comments WHERE item_id IN (1001, 1002) | ITEM_ID",
+            "SELECT * FROM requests WHERE requester_id = 1001 | REQUESTER_ID"
+    })
+    void repositoryAccessPath_shouldUseIndex(String query, String expectedLeadingColumns) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+
+        Matcher matcher = PLAN_INDEX.matcher(plan);
+        assertThat(matcher.find()).as("index scan in plan:%n%s", plan).isTrue();
+
+        assertThat(getIndexColumns(matcher.group(1)))
+                .as("columns of %s", matcher.group(1))
+                .startsWith(expectedLeadingColumns.split(","));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "IDX_BOOKINGS_BOOKER_START | BOOKER_ID,START_TIME",
+            "IDX_BOOKINGS_BOOKER_STATUS_START | BOOKER_ID,STATUS,START_TIME",
+            "IDX_BOOKINGS_ITEM_START | ITEM_ID,START_TIME",
+            "IDX_BOOKINGS_ITEM_STATUS_END | ITEM_ID,STATUS,END_TIME",
+            "IDX_ITEMS_OWNER | OWNER_ID",
+            "IDX_ITEMS_REQUEST | REQUEST_ID",
+            "IDX_REQUESTS_REQUESTER_CREATED | REQUESTER_ID,CREATED",
+            "IDX_REQUESTS_CREATED_ID | CREATED,ID"
+    })
+    void schema_shouldDeclareIndex(String indexName, String expectedColumns) {
+        assertThat(getIndexColumns(indexName)).containsExactly(expectedColumns.split(","));
+    }
+
+    private List<String> getIndexColumns(String indexName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, indexName);
+    }
+}
@@ -8,9 +8,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.service.BookingService;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -19,6 +22,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -125,6 +129,24 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is("APPROVED")));
     }
 
+    @Test
+    void approveBookings_shouldReturnResultPerBooking() throws Exception {
+        BookingBulkDecisionDto decision = new BookingBulkDecisionDto(List.of(1L, 2L), true);
+        when(bookingService.approveBookings(eq(decision), eq(1L)))
+                .thenReturn(List.of(
+                        new BookingDecisionResultDto(1L, "APPROVED", null),
+                        new BookingDecisionResultDto(2L, null, "Booking not found")));
+
+        mockMvc.perform(patch("/bookings/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decision)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].error", is("Booking not found")));
+    }
+
     @Test
     void getBooking_shouldReturnBooking() throws Exception {
         when(bookingService.getBooking(eq(1L), eq(2L)))
@@ -150,7 +172,7 @@ class BookingControllerTest {
 
     @Test
     void getUserBookings_shouldReturnUserBookings() throws Exception {
-        when(bookingService.getUserBookings(eq(2L), eq(BookingState.ALL)))
+        when(bookingService.getUserBookings(eq(2L), eq(BookingState.ALL), eq(0), eq(10)))
                 .thenReturn(List.of(bookingResponseDto));
 
         mockMvc.perform(get("/bookings")
@@ -163,7 +185,7 @@ class BookingControllerTest {
 
     @Test
     void getUserBookings_withDefaultState_shouldReturnAllBookings() throws Exception {
-        when(bookingService.getUserBookings(eq(2L), eq(BookingState.ALL)))
+        when(bookingService.getUserBookings(eq(2L), eq(BookingState.ALL), eq(0), eq(10)))
                 .thenReturn(List.of(bookingResponseDto));
 
         mockMvc.perform(get("/bookings")
@@ -174,7 +196,7 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookings_shouldReturnOwnerBookings() throws Exception {
-        when(bookingService.getOwnerBookings(eq(1L), eq(BookingState.ALL)))
+        when(bookingService.getOwnerBookings(eq(1L), eq(BookingState.ALL), eq(0), eq(10)))
                 .thenReturn(List.of(bookingResponseDto));
 
         mockMvc.perform(get("/bookings/owner")
@@ -186,13 +208,41 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookings_withPagination_shouldReturnPaginatedResults() throws Exception {
-        when(bookingService.getOwnerBookings(eq(1L), eq(BookingState.ALL)))
+        when(bookingService.getOwnerBookings(eq(1L), eq(BookingState.ALL), eq(20), eq(5)))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getUserBookings_withCursor_shouldUseKeysetPagination() throws Exception {
+        when(bookingService.getUserBookings(eq(2L), eq(BookingState.ALL),
+                argThat((SeekCursor cursor) -> cursor.getId() == 7L), eq(10)))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("after", "2024-01-15T10:00:00,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldUseKeysetPagination() throws Exception {
+        when(bookingService.getOwnerBookings(eq(1L), eq(BookingState.PAST),
+                argThat((SeekCursor cursor) -> cursor.getId() == 7L), eq(5)))
                 .thenReturn(List.of(bookingResponseDto));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
-                        .param("from", "0")
-                        .param("size", "10"))
+                        .param("state", "PAST")
+                        .param("size", "5")
+                        .param("after", "2024-01-15T10:00:00,7"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryBookingCalendarTest {
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private InMemoryBookingCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new InMemoryBookingCalendar();
+    }
+
+    @Test
+    void hasOverlap_shouldTreatIntervalsAsHalfOpen() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+
+        assertTrue(calendar.hasOverlap(ITEM_ID, hours(15), hours(25)));
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(20), hours(30)));
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(0), hours(10)));
+        assertFalse(calendar.hasOverlap(2L, hours(15), hours(25)));
+    }
+
+    @Test
+    void findOverlapping_shouldFindLongBookingStartingFarBefore() {
+        calendar.onSaved(booking(1L, 0, 1000, BookingStatus.APPROVED));
+        calendar.onSaved(booking(2L, 500, 510, BookingStatus.APPROVED));
+
+        List<Booking> overlapping = calendar.findOverlapping(ITEM_ID, hours(505), hours(506));
+
+        assertThat(overlapping).extracting(Booking::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void onSaved_withRejectedStatus_shouldFreeTheSlot() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.REJECTED));
+
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+        assertEquals(0, calendar.size());
+    }
+
+    @Test
+    void onSaved_inTransaction_shouldApplyChangesOnlyAtCommit() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.onSaved(booking(1L, 10, 20, BookingStatus.REJECTED));
+            calendar.onSaved(booking(2L, 30, 40, BookingStatus.WAITING));
+            assertTrue(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+            assertFalse(calendar.hasOverlap(ITEM_ID, hours(30), hours(40)));
+
+            forEachSynchronization(sync -> sync.beforeCommit(false));
+            assertTrue(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+            assertTrue(calendar.hasOverlap(ITEM_ID, hours(30), hours(40)));
+
+            forEachSynchronization(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+        assertTrue(calendar.hasOverlap(ITEM_ID, hours(30), hours(40)));
+    }
+
+    @Test
+    void onSaved_inRolledBackTransaction_shouldLeaveCalendarUnchanged() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.onSaved(booking(1L, 10, 20, BookingStatus.REJECTED));
+            calendar.onSaved(booking(2L, 30, 40, BookingStatus.WAITING));
+            forEachSynchronization(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(30), hours(40)));
+    }
+
+    @Test
+    void onSaved_whenCommitFails_shouldRestorePreviousState() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.onSaved(booking(1L, 15, 25, BookingStatus.APPROVED));
+            forEachSynchronization(sync -> sync.beforeCommit(false));
+            forEachSynchronization(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(calendar.findOverlapping(ITEM_ID, hours(0), hours(100)))
+                .extracting(Booking::getStart, Booking::getStatus)
+                .containsExactly(tuple(hours(10), BookingStatus.WAITING));
+    }
+
+    @Test
+    void onSaved_shouldPruneEndedBookingsButKeepLastApproved() {
+        calendar = new InMemoryBookingCalendar(Clock.fixed(hours(100).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        calendar.onSaved(booking(1L, 0, 500, BookingStatus.APPROVED));
+        calendar.onSaved(booking(2L, 10, 20, BookingStatus.APPROVED));
+        calendar.onSaved(booking(3L, 30, 40, BookingStatus.APPROVED));
+        calendar.onSaved(booking(4L, 50, 60, BookingStatus.WAITING));
+        calendar.onSaved(booking(1L, 0, 500, BookingStatus.REJECTED));
+
+        calendar.onSaved(booking(5L, 120, 130, BookingStatus.WAITING));
+
+        assertEquals(2, calendar.size());
+        assertEquals(Optional.of(3L), calendar.findLastApproved(ITEM_ID, hours(100)).map(Booking::getId));
+        assertThat(calendar.findOverlapping(ITEM_ID, hours(100), hours(200))).extracting(Booking::getId)
+                .containsExactly(5L);
+    }
+
+    @Test
+    void removeByBookerId_shouldDropBookingsOfThatBooker() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+        calendar.onSaved(new Booking(2L, hours(30), hours(40), ITEM_ID, 200L, BookingStatus.WAITING));
+
+        calendar.removeByBookerId(100L);
+
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+        assertTrue(calendar.hasOverlap(ITEM_ID, hours(30), hours(40)));
+    }
+
+    @Test
+    void removeByItemIds_shouldDropCalendarsOfThoseItems() {
+        calendar.onSaved(booking(1L, 10, 20, BookingStatus.WAITING));
+        calendar.onSaved(new Booking(2L, hours(10), hours(20), 2L, 100L, BookingStatus.WAITING));
+
+        calendar.removeByItemIds(List.of(ITEM_ID));
+
+        assertFalse(calendar.hasOverlap(ITEM_ID, hours(10), hours(20)));
+        assertTrue(calendar.hasOverlap(2L, hours(10), hours(20)));
+    }
+
+    @Test
+    void findLastAndNextApproved_shouldSkipWaitingBookings() {
+        calendar.onSaved(booking(1L, 0, 100, BookingStatus.APPROVED));
+        calendar.onSaved(booking(2L, 50, 60, BookingStatus.APPROVED));
+        calendar.onSaved(booking(3L, 70, 80, BookingStatus.WAITING));
+        calendar.onSaved(booking(4L, 120, 130, BookingStatus.APPROVED));
+        calendar.onSaved(booking(5L, 140, 150, BookingStatus.APPROVED));
+
+        assertEquals(Optional.of(1L), calendar.findLastApproved(ITEM_ID, hours(110)).map(Booking::getId));
+        assertEquals(Optional.of(4L), calendar.findNextApproved(ITEM_ID, hours(110)).map(Booking::getId));
+        assertEquals(Optional.of(1L), calendar.findNextApproved(ITEM_ID, hours(90)).map(Booking::getId));
+    }
+
+    @Test
+    void lookups_shouldMatchBruteForceOnRandomBookings() {
+        Random random = new Random(7);
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(5000);
+            BookingStatus status = BookingStatus.values()[random.nextInt(BookingStatus.values().length)];
+            bookings.add(booking(id, start, start + 1 + random.nextInt(random.nextInt(10) == 0 ? 500 : 20), status));
+        }
+        calendar.rebuild(bookings);
+
+        for (int i = 0; i < 300; i++) {
+            int from = random.nextInt(5500);
+            LocalDateTime fromTime = hours(from);
+            LocalDateTime toTime = hours(from + 1 + random.nextInt(50));
+
+            List<Long> expectedOverlapping = bookings.stream()
+                    .filter(b -> isActive(b) && b.getStart().isBefore(toTime) && b.getEnd().isAfter(fromTime))
+                    .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                    .map(Booking::getId)
+                    .toList();
+            Optional<LocalDateTime> expectedLastEnd = bookings.stream()
+                    .filter(b -> b.getStatus() == BookingStatus.APPROVED && !b.getEnd().isAfter(fromTime))
+                    .map(Booking::getEnd)
+                    .max(Comparator.naturalOrder());
+            Optional<LocalDateTime> expectedNextStart = bookings.stream()
+                    .filter(b -> b.getStatus() == BookingStatus.APPROVED && b.getEnd().isAfter(fromTime))
+                    .map(Booking::getStart)
+                    .min(Comparator.naturalOrder());
+
+            assertThat(calendar.findOverlapping(ITEM_ID, fromTime, toTime)).extracting(Booking::getId)
+                    .containsExactlyElementsOf(expectedOverlapping);
+            assertEquals(expectedLastEnd, calendar.findLastApproved(ITEM_ID, fromTime).map(Booking::getEnd));
+            assertEquals(expectedNextStart, calendar.findNextApproved(ITEM_ID, fromTime).map(Booking::getStart));
+        }
+    }
+
+    private static void forEachSynchronization(Consumer<TransactionSynchronization> action) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(action);
+    }
+
+    private static boolean isActive(Booking booking) {
+        return booking.getStatus() == BookingStatus.WAITING || booking.getStatus() == BookingStatus.APPROVED;
+    }
+
+    private static Booking booking(Long id, int startHour, int endHour, BookingStatus status) {
+        return new Booking(id, hours(startHour), hours(endHour), ITEM_ID, 100L, status);
+    }
+
+    private static LocalDateTime hours(int hours) {
+        return T0.plusHours(hours);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ConnectionPoolConfiguration.class)
+            .withBean(HikariDataSource.class, () -> {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setMaximumPoolSize(3);
+                return dataSource;
+            });
+
+    @Test
+    void doFilter_beyondLimit_shouldAnswerServiceUnavailableOnceTheWaitIsOver() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> holder = executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return response;
+            });
+            assertTrue(inside.await(10, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), rejected, (req, res) -> fail("let in beyond the limit"));
+            assertEquals(503, rejected.getStatus());
+            assertEquals("{\"error\":\"Service is busy, try again later\"}", rejected.getContentAsString());
+
+            release.countDown();
+            assertEquals(200, holder.get(10, TimeUnit.SECONDS).getStatus());
+            MockHttpServletResponse admitted = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), admitted,
+                    (req, res) -> ((MockHttpServletResponse) res).setStatus(204));
+            assertEquals(204, admitted.getStatus());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void connectionPoolConfiguration_shouldRegisterFilterOnlyOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(FilterRegistrationBean.class));
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+    }
+}
\ No newline at end of file
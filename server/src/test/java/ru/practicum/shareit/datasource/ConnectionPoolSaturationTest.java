@@ -0,0 +1,198 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import javax.sql.DataSource;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Holds every connection of a pool of {@value #POOL_SIZE} in open transactions and sends
+ * {@value #WAITERS} more transactions after them. The extra transactions queue for a connection and never
+ * push the pool past its size; they go through once the holders commit, and fail with
+ * {@link SQLTransientConnectionException} if the holders keep the connections past the connection timeout, which
+ * the API answers with 503 Service Unavailable.
+ * Nothing here depends on timing: the holders release the pool only when the test lets them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-saturation;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.hikari.maximum-pool-size=" + ConnectionPoolSaturationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=" + ConnectionPoolSaturationTest.CONNECTION_TIMEOUT_MS
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, DataSourcePoolMetricsAutoConfiguration.class})
+@Import(ConnectionPoolConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConnectionPoolSaturationTest {
+    static final int POOL_SIZE = 2;
+    static final int CONNECTION_TIMEOUT_MS = 1000;
+
+    private static final int WAITERS = 4;
+    private static final String POOL = "shareit";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(POOL_SIZE + WAITERS);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void pool_shouldQueueTransactionsBeyondItsSize() throws Exception {
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        holdWholePool();
+
+        List<Future<?>> waiters = startWaiters();
+        while (pool.getThreadsAwaitingConnection() < WAITERS) {
+            assertTrue(waiters.stream().noneMatch(Future::isDone), "a waiter got through a full pool");
+            Thread.onSpinWait();
+        }
+        assertEquals(POOL_SIZE, pool.getActiveConnections());
+        assertTrue(pool.getTotalConnections() <= POOL_SIZE);
+
+        release.countDown();
+        for (Future<?> waiter : waiters) {
+            waiter.get(10, TimeUnit.SECONDS);
+        }
+        assertTrue(pool.getTotalConnections() <= POOL_SIZE);
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", POOL).gauge());
+    }
+
+    @Test
+    void pool_shouldFailTransactionsThatWaitPastTheConnectionTimeout() throws Exception {
+        holdWholePool();
+
+        for (Future<?> waiter : startWaiters()) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> waiter.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(CannotCreateTransactionException.class, exception.getCause());
+            assertInstanceOf(SQLTransientConnectionException.class, rootCause(exception));
+
+            MockMvcBuilders.standaloneSetup(new FailingController(exception.getCause()))
+                    .setControllerAdvice(new ErrorHandler())
+                    .build()
+                    .perform(get("/"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.error").value("Service is busy, try again later"));
+        }
+    }
+
+    @Test
+    void poolSize_shouldBeTwiceTheCoresPlusEffectiveSpindles() {
+        assertEquals(9, ConnectionPoolConfiguration.poolSize(4, 1));
+        assertEquals(34, ConnectionPoolConfiguration.poolSize(16, 2));
+    }
+
+    private void holdWholePool() throws InterruptedException {
+        CountDownLatch holding = new CountDownLatch(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            executor.submit(() -> inTransaction(() -> {
+                holding.countDown();
+                awaitUninterruptibly(release);
+            }));
+        }
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+    }
+
+    private List<Future<?>> startWaiters() {
+        List<Future<?>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(executor.submit(() -> inTransaction(() -> {
+            })));
+        }
+        return waiters;
+    }
+
+    private void inTransaction(Runnable work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            work.run();
+        });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @RestController
+    @RequiredArgsConstructor
+    static class FailingController {
+        private final Throwable failure;
+
+        @GetMapping("/")
+        void fail() throws Throwable {
+            throw failure;
+        }
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
\ No newline at end of file
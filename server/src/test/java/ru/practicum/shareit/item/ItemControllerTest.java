@@ -8,19 +8,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.service.ItemService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -75,6 +81,28 @@ class ItemControllerTest {
                 .andExpect(status().isInternalServerError()); // Изменено с isBadRequest()
     }
 
+    @Test
+    void createItems_shouldStreamOneLinePerRow() throws Exception {
+        ItemDto invalid = new ItemDto(null, "", "No name", true, null);
+        doAnswer(invocation -> {
+            Consumer<List<ItemBatchResultDto>> chunkResults = invocation.getArgument(2);
+            chunkResults.accept(List.of(new ItemBatchResultDto(0, itemDto, null)));
+            chunkResults.accept(List.of(new ItemBatchResultDto(1, null, "Name cannot be blank")));
+            return null;
+        }).when(itemService).createItems(eq(List.of(itemDto, invalid)), eq(1L), any());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(new ItemBatchResultDto(0, itemDto, null)) + "\n"
+                                + objectMapper.writeValueAsString(
+                                new ItemBatchResultDto(1, null, "Name cannot be blank")) + "\n"));
+    }
+
     @Test
     void updateItem_shouldReturnUpdatedItem() throws Exception {
         ItemDto updatedItem = new ItemDto(1L, "Updated Drill", "Very powerful drill", false, null);
@@ -104,7 +132,7 @@ class ItemControllerTest {
 
     @Test
     void getUserItems_shouldReturnListOfItems() throws Exception {
-        when(itemService.getUserItems(eq(1L)))
+        when(itemService.getUserItems(eq(1L), eq(0), eq(10)))
                 .thenReturn(List.of(itemWithBookingsDto));
 
         mockMvc.perform(get("/items")
@@ -117,7 +145,7 @@ class ItemControllerTest {
 
     @Test
     void searchItems_shouldReturnMatchingItems() throws Exception {
-        when(itemService.searchItems(eq("drill")))
+        when(itemService.searchItems(eq("drill"), eq(0), eq(10)))
                 .thenReturn(List.of(itemDto));
 
         mockMvc.perform(get("/items/search")
@@ -128,9 +156,22 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name", is("Drill")));
     }
 
+    @Test
+    void searchItems_withPagination_shouldPassFromAndSize() throws Exception {
+        when(itemService.searchItems(eq("drill"), eq(20), eq(5)))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     void searchItems_withBlankText_shouldReturnEmptyList() throws Exception {
-        when(itemService.searchItems(eq("")))
+        when(itemService.searchItems(eq(""), eq(0), eq(10)))
                 .thenReturn(List.of());
 
         mockMvc.perform(get("/items/search")
@@ -139,6 +180,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void getItemAvailability_shouldReturnBookingsInRange() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0);
+        BookingDto booking = new BookingDto(5L, from.plusHours(2), from.plusHours(4), 1L, 2L, "APPROVED");
+        when(itemService.getItemAvailability(eq(1L), eq(1L), eq(from), eq(to)))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to, false,
+                        List.of(new BusyIntervalDto(booking.getStart(), booking.getEnd())), List.of(booking)));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.available", is(false)))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].id", is(5)));
+    }
+
     @Test
     void addComment_shouldReturnCreatedComment() throws Exception {
         CommentCreateDto commentCreateDto = new CommentCreateDto("Great item!");
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryItemSearchEngineTest {
+
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryItemSearchEngine();
+        engine.rebuild(List.of(
+                new Item(1L, "Drill", "Powerful drill", true, 1L, null),
+                new Item(2L, "Toolbox", "Comes with a drill bit set", true, 1L, null),
+                new Item(3L, "Old drill", "Broken", false, 2L, null),
+                new Item(4L, "Дрель", "Аккумуляторная дрель", true, 2L, null)
+        ));
+    }
+
+    @Test
+    void search_shouldMatchSubstringsAndRankNameMatchesFirst() {
+        assertThat(engine.search("DRIL", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(1L, 2L);
+        assertThat(engine.search("аккУМУЛЯТОР", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(4L);
+    }
+
+    @Test
+    void search_shouldMatchAcrossTokens() {
+        assertThat(engine.search("a drill bit", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(2L);
+        assertThat(engine.search("bit drill", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void search_withShortQuery_shouldScanIndexedItems() {
+        assertThat(engine.search("x", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void search_shouldApplyPagination() {
+        assertThat(engine.search("drill", PageRequest.of(0, 1)))
+                .extracting(Item::getId)
+                .containsExactly(1L);
+        assertThat(engine.search("drill", PageRequest.of(1, 1)))
+                .extracting(Item::getId)
+                .containsExactly(2L);
+        assertThat(engine.search("drill", PageRequest.of(5, 1))).isEmpty();
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfItem() {
+        engine.index(new Item(1L, "Hammer", "Heavy hammer", true, 1L, null));
+        engine.index(new Item(3L, "Old drill", "Repaired", true, 2L, null));
+
+        assertThat(engine.search("drill", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(3L, 2L);
+        assertThat(engine.search("hammer", Pageable.unpaged()))
+                .extracting(Item::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void removeByOwnerId_shouldDropOwnedItems() {
+        engine.removeByOwnerId(1L);
+
+        assertThat(engine.search("drill", Pageable.unpaged())).isEmpty();
+        assertThat(engine.size()).isEqualTo(2);
+    }
+}
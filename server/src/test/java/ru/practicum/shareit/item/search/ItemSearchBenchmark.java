@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory index with the LIKE query used by {@link LikeItemSearchEngine}
+ * on an H2 in-memory database.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn -pl server test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath ru.practicum.shareit.item.search.ItemSearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final String[] WORDS = {
+        "drill", "hammer", "saw", "wrench", "ladder", "tent", "bike", "kayak", "camera", "tripod",
+        "projector", "speaker", "grill", "mixer", "vacuum", "heater", "router", "sander", "jack", "pump"
+    };
+    private static final String LIKE_QUERY = "SELECT * FROM items i WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE ? ESCAPE '\\' OR LOWER(i.description) LIKE ? ESCAPE '\\') " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE ? ESCAPE '\\' THEN 0 ELSE 1 END, i.id LIMIT 20";
+
+    @Param({"10000", "100000", "1000000"})
+    private int itemCount;
+
+    @Param({"kayak", "tripod camera"})
+    private String query;
+
+    private InMemoryItemSearchEngine engine;
+    private Connection connection;
+    private PreparedStatement likeStatement;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + id;
+            String description = WORDS[random.nextInt(WORDS.length)] + " and " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)];
+            items.add(new Item(id, name, description, random.nextInt(10) > 0, id % 1000 + 1, null));
+        }
+
+        engine = new InMemoryItemSearchEngine();
+        engine.rebuild(items);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                    "description VARCHAR(1000), available BOOLEAN NOT NULL, owner_id BIGINT NOT NULL, request_id BIGINT)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)")) {
+            for (Item item : items) {
+                insert.setLong(1, item.getId());
+                insert.setString(2, item.getName());
+                insert.setString(3, item.getDescription());
+                insert.setBoolean(4, item.getAvailable());
+                insert.setLong(5, item.getOwnerId());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        likeStatement = connection.prepareStatement(LIKE_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Item> inMemoryIndex() {
+        return engine.search(query, firstPage);
+    }
+
+    @Benchmark
+    public int likeQuery() throws SQLException {
+        String pattern = ItemSearchEngine.toLikePattern(query);
+        likeStatement.setString(1, pattern);
+        likeStatement.setString(2, pattern);
+        likeStatement.setString(3, pattern);
+        int rows = 0;
+        try (ResultSet resultSet = likeStatement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
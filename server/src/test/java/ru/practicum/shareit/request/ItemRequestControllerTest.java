@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.service.ItemRequestService;
@@ -126,6 +127,40 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.error", containsString("Invalid pagination parameters")));
     }
 
+    @Test
+    void getAllRequests_withCursor_shouldUseKeysetPagination() throws Exception {
+        when(itemRequestService.getAllRequests(eq(1L), any(SeekCursor.class), eq(10)))
+                .thenReturn(List.of(requestDto));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "2024-01-02T10:00:00,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllRequests_withCursor_shouldIgnoreOffset() throws Exception {
+        when(itemRequestService.getAllRequests(eq(1L), any(SeekCursor.class), eq(10)))
+                .thenReturn(List.of(requestDto));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1")
+                        .param("after", "2024-01-02T10:00:00,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllRequests_withMalformedCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Invalid cursor")));
+    }
+
     @Test
     void getRequestById_shouldReturnRequest() throws Exception {
         when(itemRequestService.getRequestById(eq(1L), eq(2L)))
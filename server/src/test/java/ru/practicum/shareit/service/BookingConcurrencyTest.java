@@ -0,0 +1,206 @@
+package ru.practicum.shareit.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires hundreds of concurrent, partly overlapping booking requests at one item and checks
+ * that no two active bookings of it overlap afterwards, then races owner decisions on the same
+ * bookings and checks that each of them is decided exactly once. Runs outside of a test transaction
+ * so that every request commits on its own connection, against a pooled H2 database with the
+ * caches on, as in production.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-stress;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, ItemSearchConfiguration.class,
+        BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
+class BookingConcurrencyTest {
+    private static final int REQUESTS = 400;
+    private static final int THREADS = 64;
+    private static final int BOOKERS = 20;
+    private static final int DECISIONS_PER_BOOKING = 4;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "stress-owner@email.com"));
+        userIds.add(owner.getId());
+        for (int i = 0; i < BOOKERS; i++) {
+            userIds.add(userRepository.save(new User(null, "Booker " + i, "stress-booker" + i + "@email.com")).getId());
+        }
+        item = itemRepository.save(new Item(null, "Hot item", "Everyone wants it", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // items and bookings go with their users (ON DELETE CASCADE)
+        userRepository.deleteAllById(userIds);
+        userIds.clear();
+    }
+
+    @Test
+    void createBooking_concurrentOverlappingRequests_shouldNeverDoubleBook() throws InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Random random = new Random(42);
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(200));
+            requests.add(new BookingRequestDto(item.getId(), start, start.plusHours(1 + random.nextInt(12))));
+        }
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingRequestDto request = requests.get(i);
+            Long bookerId = userIds.get(1 + i % BOOKERS);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    bookingService.createBooking(request, bookerId);
+                    created.incrementAndGet();
+                } catch (BookingOverlapException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("{} concurrent booking requests on one item in {} ms ({} req/s): {} created, {} rejected",
+                REQUESTS, Math.round(seconds * 1000), Math.round(REQUESTS / seconds), created.get(), rejected.get());
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertEquals(REQUESTS, created.get() + rejected.get());
+        assertTrue(created.get() > 0);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE item_id = ?", Integer.class, item.getId());
+        Integer overlapping = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings a JOIN bookings b " +
+                "ON a.item_id = b.item_id AND a.id < b.id AND a.start_time < b.end_time AND b.start_time < a.end_time " +
+                "WHERE a.item_id = ?", Integer.class, item.getId());
+        assertEquals(created.get(), stored);
+        assertEquals(0, overlapping);
+    }
+
+    @Test
+    void approveBooking_concurrentDecisions_shouldDecideEachBookingOnce() throws InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS / DECISIONS_PER_BOOKING; i++) {
+            bookingIds.add(bookingRepository.save(new Booking(null, base.plusHours(i), base.plusHours(i + 1),
+                    item.getId(), userIds.get(1 + i % BOOKERS), BookingStatus.WAITING)).getId());
+        }
+        Long ownerId = userIds.get(0);
+
+        AtomicInteger decided = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < REQUESTS; i++) {
+            Long bookingId = bookingIds.get(i / DECISIONS_PER_BOOKING);
+            boolean approved = i % 2 == 0;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    bookingService.approveBooking(bookingId, approved, ownerId);
+                    decided.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("{} concurrent decisions on {} bookings in {} ms ({} req/s): {} applied, {} rejected",
+                REQUESTS, bookingIds.size(), Math.round(seconds * 1000), Math.round(REQUESTS / seconds),
+                decided.get(), rejected.get());
+
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+        assertEquals(bookingIds.size(), decided.get());
+        assertEquals(REQUESTS - bookingIds.size(), rejected.get());
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer waiting = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE item_id = ? AND status = 'WAITING'", Integer.class, item.getId());
+        assertEquals(0, waiting);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through the whole feed of an owner with 10k bookings twice: once the way it was built
+ * before, from managed Booking entities plus item and booker lookups, and once through the
+ * constructor-expression projection, and compares the bytes the test thread allocated on each.
+ * The database runs as an H2 TCP server, so that its own query work is not counted against the client.
+ * <p>
+ * Takes about a minute, so it is not named as a test and surefire leaves it out. Run with:
+ * <pre>
+ * mvn -pl server test -Dtest=BookingFeedAllocationBenchmark
+ * </pre>
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, ItemSearchConfiguration.class,
+        BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
+class BookingFeedAllocationBenchmark {
+    private static final long OWNER_ID = 1001;
+    private static final int BOOKINGS = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final String ENTITY_FEED = "SELECT b FROM Booking b " +
+            "WHERE b.itemId IN (SELECT i.id FROM Item i WHERE i.ownerId = :ownerId) ORDER BY b.start DESC, b.id DESC";
+
+    private static Server server;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:booking-feed;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT 1000 + X, 'User ' || X, 'user' || X || '@email.com' FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "SELECT 1000 + X, 'Item ' || X, 'Description ' || X, TRUE, ? FROM SYSTEM_RANGE(1, 100)", OWNER_ID);
+        jdbcTemplate.update("INSERT INTO bookings (id, start_time, end_time, item_id, booker_id, status) " +
+                "SELECT 1000 + X, TIMESTAMP '2024-01-01 00:00:00' + X * INTERVAL '1' HOUR, " +
+                "TIMESTAMP '2024-01-01 00:00:00' + X * INTERVAL '2' HOUR, 1001 + MOD(X, 100), " +
+                "1002 + MOD(X, 49), 'APPROVED' FROM SYSTEM_RANGE(1, ?)", BOOKINGS);
+    }
+
+    @Test
+    void getOwnerBookings_allocationsOfEntityMappingAndProjection() {
+        assertEquals(readFeed(this::entityPage), readFeed(this::projectionPage));
+
+        long entityBytes = measure(this::entityPage);
+        long projectionBytes = measure(this::projectionPage);
+        log.info("Feed of {} bookings in pages of {}: entities {} KiB, projection {} KiB",
+                BOOKINGS, PAGE_SIZE, entityBytes / 1024, projectionBytes / 1024);
+    }
+
+    private List<BookingResponseDto> projectionPage(int from) {
+        return bookingService.getOwnerBookings(OWNER_ID, BookingState.ALL, from, PAGE_SIZE);
+    }
+
+    private List<BookingResponseDto> entityPage(int from) {
+        List<Booking> bookings = entityManager.createQuery(ENTITY_FEED, Booking.class)
+                .setParameter("ownerId", OWNER_ID)
+                .setFirstResult(from)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+
+        Map<Long, ItemDto> items = itemRepository.findAllById(
+                        bookings.stream().map(Booking::getItemId).collect(Collectors.toSet())).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        Map<Long, UserDto> bookers = userService.getUsersByIds(
+                        bookings.stream().map(Booking::getBookerId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+
+        return bookings.stream()
+                .map(booking -> BookingMapper.toBookingResponseDto(booking,
+                        items.get(booking.getItemId()), bookers.get(booking.getBookerId())))
+                .toList();
+    }
+
+    private long measure(IntFunction<List<BookingResponseDto>> page) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            readFeed(page);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            readFeed(page);
+            min = Math.min(min, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return min;
+    }
+
+    private List<BookingResponseDto> readFeed(IntFunction<List<BookingResponseDto>> page) {
+        List<BookingResponseDto> feed = new ArrayList<>(BOOKINGS);
+        for (int from = 0; from < BOOKINGS; from += PAGE_SIZE) {
+            feed.addAll(page.apply(from));
+            // each request of the application runs in a fresh persistence context
+            entityManager.clear();
+        }
+        return feed;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,25 +13,40 @@ import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBulkDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.pagination.SeekCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class})
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, ItemSearchConfiguration.class,
+        BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
 class BookingServiceImplIntegrationTest {
 
     @Autowired
     private TestEntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private BookingServiceImpl bookingService;
 
@@ -123,6 +141,32 @@ class BookingServiceImplIntegrationTest {
         assertEquals("Invalid booking dates", exception.getMessage());
     }
 
+    @Test
+    void createBooking_overlappingActiveBooking_shouldThrowException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.save(new Booking(null, start, start.plusDays(2), availableItem.getId(),
+                booker.getId(), BookingStatus.APPROVED));
+        BookingRequestDto requestDto = new BookingRequestDto(availableItem.getId(), start.plusDays(1), start.plusDays(3));
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class,
+                () -> bookingService.createBooking(requestDto, booker.getId()));
+        assertEquals("Item is already booked for the requested dates", exception.getMessage());
+    }
+
+    @Test
+    void createBooking_adjacentOrRejectedBooking_shouldNotConflict() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, start, start.plusDays(1), availableItem.getId(),
+                booker.getId(), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, start.plusDays(1), start.plusDays(2), availableItem.getId(),
+                booker.getId(), BookingStatus.REJECTED));
+
+        BookingResponseDto booking = bookingService.createBooking(
+                new BookingRequestDto(availableItem.getId(), start.plusDays(1), start.plusDays(2)), booker.getId());
+
+        assertNotNull(booking.getId());
+    }
+
     @Test
     void approveBooking_shouldApproveSuccessfully() {
         Booking booking = new Booking(null,
@@ -162,6 +206,89 @@ class BookingServiceImplIntegrationTest {
         assertEquals("Only item owner can approve booking", exception.getMessage());
     }
 
+    @Test
+    void approveBooking_alreadyDecided_shouldThrowExceptionAndKeepStatus() {
+        Booking booking = bookingRepository.save(new Booking(null,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                availableItem.getId(),
+                booker.getId(),
+                BookingStatus.WAITING));
+
+        Long bookingId = booking.getId();
+        Long ownerId = owner.getId();
+        BookingResponseDto rejectedBooking = bookingService.approveBooking(bookingId, false, ownerId);
+        assertEquals(BookingStatus.REJECTED.name(), rejectedBooking.getStatus());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.approveBooking(bookingId, true, ownerId));
+        assertEquals("Booking is not waiting for approval", exception.getMessage());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approveBooking_unknownBooking_shouldThrowException() {
+        Long ownerId = owner.getId();
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.approveBooking(Long.MAX_VALUE, true, ownerId));
+        assertEquals("Booking not found", exception.getMessage());
+    }
+
+    @Test
+    void approveBookings_shouldDecideWaitingBookingsAndReportTheRest() {
+        Booking first = saveFutureBooking(availableItem, 1, BookingStatus.WAITING);
+        Booking second = saveFutureBooking(availableItem, 3, BookingStatus.WAITING);
+        Booking approved = saveFutureBooking(availableItem, 5, BookingStatus.APPROVED);
+        Item foreignItem = itemRepository.save(new Item(null, "Saw", "Sharp saw", true, booker.getId(), null));
+        Booking foreign = saveFutureBooking(foreignItem, 1, BookingStatus.WAITING);
+
+        List<BookingDecisionResultDto> results = bookingService.approveBookings(new BookingBulkDecisionDto(
+                List.of(first.getId(), approved.getId(), foreign.getId(), Long.MAX_VALUE, second.getId(), first.getId()),
+                false), owner.getId());
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(first.getId(), "REJECTED", null),
+                new BookingDecisionResultDto(approved.getId(), "APPROVED", "Booking is not waiting for approval"),
+                new BookingDecisionResultDto(foreign.getId(), null, "Only item owner can approve booking"),
+                new BookingDecisionResultDto(Long.MAX_VALUE, null, "Booking not found"),
+                new BookingDecisionResultDto(second.getId(), "REJECTED", null)), results);
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approveBookings_shouldRunFixedNumberOfStatementsRegardlessOfBatchSize() {
+        List<Long> single = List.of(saveFutureBooking(availableItem, 1, BookingStatus.WAITING).getId());
+        long singleBookingStatements = countStatements(
+                () -> bookingService.approveBookings(new BookingBulkDecisionDto(single, true), owner.getId()));
+
+        List<Long> many = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            many.add(saveFutureBooking(availableItem, 10 + i * 2, BookingStatus.WAITING).getId());
+        }
+        long manyBookingsStatements = countStatements(
+                () -> bookingService.approveBookings(new BookingBulkDecisionDto(many, true), owner.getId()));
+
+        assertEquals(2, singleBookingStatements);
+        assertEquals(singleBookingStatements, manyBookingsStatements);
+    }
+
+    @Test
+    void approveBookings_withInvalidRequest_shouldThrowException() {
+        Long ownerId = owner.getId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.approveBookings(new BookingBulkDecisionDto(List.of(), true), ownerId));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.approveBookings(new BookingBulkDecisionDto(List.of(1L), null), ownerId));
+        List<Long> tooMany = LongStream.rangeClosed(1, 101).boxed().toList();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.approveBookings(new BookingBulkDecisionDto(tooMany, true), ownerId));
+        assertEquals("At most 100 bookings can be decided at once", exception.getMessage());
+    }
+
     @Test
     void getBooking_shouldReturnBookingForBooker() {
         Booking booking = new Booking(null,
@@ -235,7 +362,7 @@ class BookingServiceImplIntegrationTest {
         bookingRepository.save(futureBooking);
 
         Long bookerId = booker.getId();
-        List<BookingResponseDto> userBookings = bookingService.getUserBookings(bookerId, BookingState.ALL);
+        List<BookingResponseDto> userBookings = bookingService.getUserBookings(bookerId, BookingState.ALL, 0, 10);
 
         assertEquals(2, userBookings.size());
     }
@@ -259,7 +386,7 @@ class BookingServiceImplIntegrationTest {
         bookingRepository.save(futureBooking);
 
         Long bookerId = booker.getId();
-        List<BookingResponseDto> pastBookings = bookingService.getUserBookings(bookerId, BookingState.PAST);
+        List<BookingResponseDto> pastBookings = bookingService.getUserBookings(bookerId, BookingState.PAST, 0, 10);
 
         assertEquals(1, pastBookings.size());
         assertEquals(pastBooking.getId(), pastBookings.get(0).getId());
@@ -276,19 +403,210 @@ class BookingServiceImplIntegrationTest {
         bookingRepository.save(booking);
 
         Long ownerId = owner.getId();
-        List<BookingResponseDto> ownerBookings = bookingService.getOwnerBookings(ownerId, BookingState.ALL);
+        List<BookingResponseDto> ownerBookings = bookingService.getOwnerBookings(ownerId, BookingState.ALL, 0, 10);
 
         assertEquals(1, ownerBookings.size());
         assertEquals(booking.getId(), ownerBookings.get(0).getId());
     }
 
+    @Test
+    void getOwnerBookings_withState_shouldFilterBookingsOfOwnItems() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), availableItem.getId(),
+                booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), availableItem.getId(),
+                booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), availableItem.getId(),
+                booker.getId(), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), availableItem.getId(),
+                booker.getId(), BookingStatus.REJECTED));
+        Item foreignItem = itemRepository.save(new Item(null, "Saw", "Sharp saw", true, booker.getId(), null));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), foreignItem.getId(),
+                owner.getId(), BookingStatus.WAITING));
+
+        Long ownerId = owner.getId();
+        assertEquals(4, bookingService.getOwnerBookings(ownerId, BookingState.ALL, 0, 10).size());
+        assertEquals(1, bookingService.getOwnerBookings(ownerId, BookingState.CURRENT, 0, 10).size());
+        assertEquals(1, bookingService.getOwnerBookings(ownerId, BookingState.PAST, 0, 10).size());
+        assertEquals(2, bookingService.getOwnerBookings(ownerId, BookingState.FUTURE, 0, 10).size());
+        assertEquals(1, bookingService.getOwnerBookings(ownerId, BookingState.WAITING, 0, 10).size());
+        assertEquals(1, bookingService.getOwnerBookings(ownerId, BookingState.REJECTED, 0, 10).size());
+        assertEquals(List.of(), bookingService.getOwnerBookings(ownerId, BookingState.ALL, 10, 10));
+    }
+
+    @Test
+    void getOwnerBookings_shouldNotLoadAllItemsOfOwner() {
+        for (int i = 0; i < 20; i++) {
+            itemRepository.save(new Item(null, "Spare " + i, "Never booked", true, owner.getId(), null));
+        }
+        saveFutureBooking(availableItem, 1, BookingStatus.WAITING);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = countStatements(() -> assertEquals(1,
+                bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, 0, 10).size()));
+
+        // owner check and the feed itself; rows are projections, so no entity is loaded at all
+        assertEquals(2, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
     @Test
     void getOwnerBookings_userWithoutItems_shouldThrowException() {
         User userWithoutItems = userRepository.save(new User(null, "NoItems", "noitems@email.com"));
 
         Long userId = userWithoutItems.getId();
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> bookingService.getOwnerBookings(userId, BookingState.ALL));
+                () -> bookingService.getOwnerBookings(userId, BookingState.ALL, 0, 10));
         assertEquals("User has no items", exception.getMessage());
     }
+
+    @Test
+    void getUserBookings_withPagination_shouldReturnRequestedPage() {
+        createPastBookings(3);
+
+        Long bookerId = booker.getId();
+        List<BookingResponseDto> firstPage = bookingService.getUserBookings(bookerId, BookingState.ALL, 0, 2);
+        List<BookingResponseDto> secondPage = bookingService.getUserBookings(bookerId, BookingState.ALL, 2, 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertTrue(firstPage.get(1).getStart().isAfter(secondPage.get(0).getStart()));
+    }
+
+    @Test
+    void getUserBookings_withOffsetNotMultipleOfSize_shouldStartAtThatOffset() {
+        createPastBookings(3);
+
+        Long bookerId = booker.getId();
+        List<BookingResponseDto> all = bookingService.getUserBookings(bookerId, BookingState.ALL, 0, 10);
+        List<BookingResponseDto> page = bookingService.getUserBookings(bookerId, BookingState.ALL, 1, 2);
+
+        assertEquals(List.of(all.get(1).getId(), all.get(2).getId()),
+                page.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    @Test
+    void getOwnerBookings_withPagination_shouldReturnRequestedPage() {
+        createPastBookings(3);
+
+        Long ownerId = owner.getId();
+        List<BookingResponseDto> page = bookingService.getOwnerBookings(ownerId, BookingState.PAST, 4, 2);
+
+        assertEquals(2, page.size());
+    }
+
+    @Test
+    void getUserBookings_withCursor_shouldContinueAfterLastSeenBooking() {
+        createPastBookings(3);
+
+        Long bookerId = booker.getId();
+        List<BookingResponseDto> firstPage = bookingService.getUserBookings(bookerId, BookingState.PAST, 0, 2);
+        BookingResponseDto last = firstPage.get(firstPage.size() - 1);
+        List<BookingResponseDto> nextPage = bookingService.getUserBookings(bookerId, BookingState.PAST,
+                new SeekCursor(last.getStart(), last.getId()), 2);
+
+        assertEquals(1, nextPage.size());
+        assertTrue(nextPage.get(0).getStart().isBefore(last.getStart()));
+    }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldContinueAfterLastSeenBooking() {
+        createPastBookings(2);
+
+        Long ownerId = owner.getId();
+        List<BookingResponseDto> all = bookingService.getOwnerBookings(ownerId, BookingState.ALL, 0, 10);
+        BookingResponseDto second = all.get(1);
+        List<BookingResponseDto> nextPage = bookingService.getOwnerBookings(ownerId, BookingState.ALL,
+                new SeekCursor(second.getStart(), second.getId()), 10);
+
+        assertEquals(all.size() - 2, nextPage.size());
+        assertFalse(nextPage.stream().anyMatch(booking -> booking.getId().equals(second.getId())));
+    }
+
+    @Test
+    void getUserBookings_withInvalidPagination_shouldThrowException() {
+        Long bookerId = booker.getId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUserBookings(bookerId, BookingState.ALL, -1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUserBookings(bookerId, BookingState.ALL, 0, 0));
+    }
+
+    @Test
+    void getUserBookings_withSizeOverMax_shouldThrowException() {
+        Long bookerId = booker.getId();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUserBookings(bookerId, BookingState.ALL, 0, 101));
+        assertTrue(exception.getMessage().contains("size must be <= 100"));
+        SeekCursor after = SeekCursor.parse("2030-01-01T00:00:00,1");
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUserBookings(bookerId, BookingState.ALL, after, 101));
+    }
+
+    @Test
+    void getUserBookings_shouldRunFixedNumberOfStatementsRegardlessOfListSize() {
+        createPastBookings(1);
+        long singleBookingStatements = countStatements(
+                () -> bookingService.getUserBookings(booker.getId(), BookingState.ALL, 0, 100));
+
+        createPastBookings(20);
+        long manyBookingsStatements = countStatements(
+                () -> assertEquals(21, bookingService.getUserBookings(booker.getId(), BookingState.ALL, 0, 100).size()));
+
+        assertEquals(singleBookingStatements, manyBookingsStatements);
+    }
+
+    @Test
+    void getOwnerBookings_shouldRunFixedNumberOfStatementsRegardlessOfListSize() {
+        createPastBookings(1);
+        long singleBookingStatements = countStatements(
+                () -> bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, 0, 100));
+
+        createPastBookings(20);
+        long manyBookingsStatements = countStatements(
+                () -> assertEquals(42, bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, 0, 100).size()));
+
+        assertEquals(singleBookingStatements, manyBookingsStatements);
+    }
+
+    private void createPastBookings(int count) {
+        for (int i = 0; i < count; i++) {
+            User otherBooker = userRepository.save(
+                    new User(null, "Booker " + i, "booker" + i + "-" + System.nanoTime() + "@email.com"));
+            Item otherItem = itemRepository.save(
+                    new Item(null, "Item " + i, "Description " + i, true, owner.getId(), null));
+            bookingRepository.save(new Booking(null,
+                    LocalDateTime.now().minusDays(i + 2),
+                    LocalDateTime.now().minusDays(i + 1),
+                    otherItem.getId(),
+                    booker.getId(),
+                    BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null,
+                    LocalDateTime.now().minusDays(i + 2),
+                    LocalDateTime.now().minusDays(i + 1),
+                    otherItem.getId(),
+                    otherBooker.getId(),
+                    BookingStatus.APPROVED));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private Booking saveFutureBooking(Item item, int startInDays, BookingStatus status) {
+        LocalDateTime start = LocalDateTime.now().plusDays(startInDays);
+        return bookingRepository.save(new Booking(null, start, start.plusDays(1), item.getId(), booker.getId(), status));
+    }
+
+    private long countStatements(Runnable action) {
+        em.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        em.clear();
+        return statistics.getPrepareStatementCount();
+    }
 }
\ No newline at end of file
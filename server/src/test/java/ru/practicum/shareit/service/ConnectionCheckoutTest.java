@@ -0,0 +1,195 @@
+package ru.practicum.shareit.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts pool checkouts with the {@code hikaricp.connections.acquire} metric: every service call,
+ * read or write, should borrow one connection for its whole transaction instead of one per repository call.
+ * Runs outside of a test transaction, against a pooled H2 database, as in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-checkout;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, ItemRequestServiceImpl.class,
+        ItemSearchConfiguration.class, BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class,
+        ConnectionCheckoutTest.PoolMetricsConfiguration.class})
+class ConnectionCheckoutTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "Owner", "checkout-owner@email.com"));
+        booker = userRepository.save(new User(null, "Booker", "checkout-booker@email.com"));
+        request = itemRequestRepository.save(new ItemRequest(null, "Need a drill", booker.getId(), now));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner.getId(), request.getId()));
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item.getId(), booker.getId(),
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3), item.getId(), booker.getId(),
+                BookingStatus.APPROVED));
+        commentRepository.save(new Comment(null, "Great drill", item.getId(), booker.getId(), now.minusDays(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // items, bookings, comments and requests go with their users (ON DELETE CASCADE)
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    @Test
+    void getItemWithBookingsAndComments_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> itemService.getItemWithBookingsAndComments(item.getId(), owner.getId())));
+    }
+
+    @Test
+    void getUserItems_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> itemService.getUserItems(owner.getId(), 0, 10)));
+    }
+
+    @Test
+    void getOwnerBookings_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, 0, 10)));
+    }
+
+    @Test
+    void getRequestById_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> itemRequestService.getRequestById(request.getId(), booker.getId())));
+    }
+
+    @Test
+    void addComment_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> itemService.addComment(
+                item.getId(), new CommentCreateDto("Still great"), booker.getId())));
+    }
+
+    @Test
+    void updateItem_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> itemService.updateItem(
+                item.getId(), new ItemDto(null, "Hammer drill", null, null, null), owner.getId())));
+    }
+
+    @Test
+    void updateUser_shouldCheckOutOneConnection() {
+        assertEquals(1, countCheckouts(() -> userService.updateUser(
+                booker.getId(), new UserDto(null, null, "checkout-booker2@email.com"))));
+    }
+
+    @Test
+    void createBooking_shouldCheckOutOneConnection() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        assertEquals(1, countCheckouts(() -> bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusDays(1)), booker.getId())));
+    }
+
+    private long countCheckouts(Runnable action) {
+        long before = meterRegistry.timer("hikaricp.connections.acquire", "pool", poolName()).count();
+        action.run();
+        return meterRegistry.timer("hikaricp.connections.acquire", "pool", poolName()).count() - before;
+    }
+
+    private String poolName() {
+        return meterRegistry.get("hikaricp.connections.acquire").timer().getId().getTag("pool");
+    }
+
+    @TestConfiguration
+    static class PoolMetricsConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * The pool only accepts a registry before it starts, which is on the first checkout.
+         */
+        @Bean
+        static BeanPostProcessor poolMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        dataSource.setMetricRegistry(meterRegistry.getObject());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
\ No newline at end of file
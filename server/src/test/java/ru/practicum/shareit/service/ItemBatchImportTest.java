@@ -0,0 +1,99 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside of a test transaction: every chunk of an import commits or rolls back on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ItemServiceImpl.class, UserServiceImpl.class, ItemSearchConfiguration.class,
+        BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
+class ItemBatchImportTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "import-owner@email.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // items go with their owner (ON DELETE CASCADE)
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void createItems_whenLaterChunkFails_shouldReportEveryRowAndGoOn() {
+        List<ItemDto> rows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            rows.add(new ItemDto(null, "Item " + i, "Imported item " + i, true, null));
+        }
+        // fails at flush on commit of the second chunk: the name column holds 255 characters
+        rows.set(600, new ItemDto(null, "x".repeat(300), "Too long", true, null));
+        rows.set(700, new ItemDto(null, " ", "Nameless", true, null));
+        List<List<ItemBatchResultDto>> chunks = new ArrayList<>();
+
+        itemService.createItems(rows, owner.getId(), chunks::add);
+
+        assertEquals(3, chunks.size());
+        assertThat(chunks.get(0)).allSatisfy(result -> assertNotNull(result.getItem()));
+        assertThat(chunks.get(1)).extracting(ItemBatchResultDto::getIndex)
+                .containsExactlyElementsOf(IntStream.range(500, 1000).boxed().toList());
+        assertThat(chunks.get(1)).allSatisfy(result -> assertNull(result.getItem()));
+        assertEquals("Name cannot be blank", chunks.get(1).get(200).getError());
+        assertThat(chunks.get(1).stream().filter(result -> result.getIndex() != 700))
+                .extracting(ItemBatchResultDto::getError)
+                .containsOnly("Rows 500 to 999 could not be saved");
+        assertThat(chunks.get(2)).allSatisfy(result -> assertNotNull(result.getItem()));
+        assertEquals(700, itemRepository.findByOwnerIdOrderByIdAsc(owner.getId(), Pageable.unpaged()).size());
+    }
+
+    @Test
+    void createItems_overMaxBatchSize_shouldRejectWholeBatch() {
+        List<ItemDto> rows = new ArrayList<>();
+        for (int i = 0; i <= 10000; i++) {
+            rows.add(new ItemDto(null, "Item " + i, "Imported item " + i, true, null));
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.createItems(rows, owner.getId(), chunk -> fail("nothing may be saved")));
+
+        assertEquals("At most 10000 items can be created at once", exception.getMessage());
+        assertTrue(itemRepository.findByOwnerIdOrderByIdAsc(owner.getId(), Pageable.unpaged()).isEmpty());
+    }
+}
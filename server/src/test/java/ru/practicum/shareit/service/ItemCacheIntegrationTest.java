@@ -0,0 +1,154 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside of a test transaction: cache writes are applied when the service transaction commits.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, ItemSearchConfiguration.class,
+        BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
+class ItemCacheIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfiguration.USERS_CACHE).clear();
+        cacheManager.getCache(CacheConfiguration.ITEMS_CACHE).clear();
+        owner = userRepository.save(new User(null, "Owner", "owner@email.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@email.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // items and bookings go with their users (ON DELETE CASCADE)
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    @Test
+    void createBooking_forHotItem_shouldNotLoadItemFromDatabase() {
+        bookingService.createBooking(bookingRequest(1), booker.getId());
+
+        Statistics statistics = getStatistics();
+        long statements = countStatements(() -> bookingService.createBooking(bookingRequest(3), booker.getId()));
+
+        // item row lock, overlap check and insert, plus a sequence call once per 50 booking ids;
+        // item metadata and booker come from the caches
+        assertTrue(statements == 3 || statements == 4, () -> statements + " statements");
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void updateItem_shouldWriteThroughToCache() {
+        itemService.getItem(item.getId());
+
+        itemService.updateItem(item.getId(), new ItemDto(null, "Hammer drill", null, false, null), owner.getId());
+
+        long statements = countStatements(() -> {
+            ItemDto cached = itemService.getItem(item.getId());
+            assertEquals("Hammer drill", cached.getName());
+            assertFalse(cached.getAvailable());
+        });
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void updateItem_rolledBack_shouldKeepCachedItem() {
+        itemService.getItem(item.getId());
+
+        // fails at flush on commit: the name column holds 255 characters
+        assertThrows(RuntimeException.class, () -> itemService.updateItem(item.getId(),
+                new ItemDto(null, "x".repeat(300), null, false, null), owner.getId()));
+
+        ItemDto cached = itemService.getItem(item.getId());
+        assertEquals("Drill", cached.getName());
+        assertTrue(cached.getAvailable());
+    }
+
+    @Test
+    void findItem_shouldReturnCopyOfCachedItem() {
+        itemService.findItem(item.getId()).setName("Changed by caller");
+
+        assertEquals("Drill", itemService.findItem(item.getId()).getName());
+    }
+
+    @Test
+    void deleteUser_shouldEvictItemsOfDeletedOwner() {
+        itemService.getItem(item.getId());
+
+        userService.deleteUser(owner.getId());
+
+        assertThrows(RuntimeException.class, () -> itemService.getItem(item.getId()));
+    }
+
+    private BookingRequestDto bookingRequest(int startInDays) {
+        return new BookingRequestDto(item.getId(),
+                LocalDateTime.now().plusDays(startInDays), LocalDateTime.now().plusDays(startInDays + 1));
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
\ No newline at end of file
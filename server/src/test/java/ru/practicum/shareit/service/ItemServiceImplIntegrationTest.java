@@ -1,5 +1,8 @@
 package ru.practicum.shareit.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +11,21 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.cache.CacheConfiguration;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
 import ru.practicum.shareit.item.model.CommentRepository;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -21,18 +33,24 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.booking.Booking;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import({ItemServiceImpl.class, UserServiceImpl.class, ItemRequestServiceImpl.class})
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, UserServiceImpl.class, ItemRequestServiceImpl.class,
+        ItemSearchConfiguration.class, BookingCalendarConfiguration.class, CacheConfiguration.class, Pagination.class})
 class ItemServiceImplIntegrationTest {
 
     @Autowired
     private TestEntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private ItemServiceImpl itemService;
 
@@ -95,6 +113,64 @@ class ItemServiceImplIntegrationTest {
         assertEquals(request.getId(), createdItem.getRequestId());
     }
 
+    @Test
+    void createItems_shouldCreateValidRowsAndReportInvalidOnes() {
+        User requester = userRepository.save(new User(null, "Requester", "requester@email.com"));
+        ItemRequest request = itemRequestRepository.save(
+                new ItemRequest(null, "Need a ladder", requester.getId(), LocalDateTime.now()));
+        List<ItemDto> rows = List.of(
+                new ItemDto(null, "Ladder", "Tall ladder", true, request.getId()),
+                new ItemDto(null, " ", "Nameless", true, null),
+                new ItemDto(null, "Rope", "Long rope", true, null),
+                new ItemDto(null, "Bucket", "Red bucket", true, Long.MAX_VALUE));
+
+        List<ItemBatchResultDto> results = new ArrayList<>();
+        itemService.createItems(rows, owner.getId(), results::addAll);
+
+        assertThat(results).extracting(ItemBatchResultDto::getIndex).containsExactly(0, 1, 2, 3);
+        assertEquals("Ladder", results.get(0).getItem().getName());
+        assertEquals(request.getId(), results.get(0).getItem().getRequestId());
+        assertEquals("Name cannot be blank", results.get(1).getError());
+        assertNull(results.get(2).getError());
+        assertEquals("Request not found with id: " + Long.MAX_VALUE, results.get(3).getError());
+        assertThat(itemRepository.findAllById(List.of(results.get(0).getItem().getId(), results.get(2).getItem().getId())))
+                .extracting(Item::getOwnerId)
+                .containsOnly(owner.getId());
+        em.flush();
+        assertThat(itemService.searchItems("rope", 0, 10)).extracting(ItemDto::getName).containsExactly("Rope");
+    }
+
+    @Test
+    void createItems_shouldBatchInsertsAndReportEveryChunk() {
+        List<ItemDto> rows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            rows.add(new ItemDto(null, "Item " + i, "Imported item " + i, true, null));
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        em.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        itemService.createItems(rows, owner.getId(), results -> {
+            chunkSizes.add(results.size());
+            em.flush();
+        });
+
+        assertEquals(List.of(500, 500, 200), chunkSizes);
+        assertEquals(1200, statistics.getEntityInsertCount());
+        // owner check, 24 pooled sequence calls and 24 batches of 50 inserts, instead of 1200 single inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(60);
+    }
+
+    @Test
+    void createItems_withUnknownOwner_shouldThrowBeforeAnyRow() {
+        List<ItemDto> rows = List.of(new ItemDto(null, "Ladder", "Tall ladder", true, null));
+        List<ItemBatchResultDto> results = new ArrayList<>();
+
+        assertThrows(RuntimeException.class, () -> itemService.createItems(rows, Long.MAX_VALUE, results::addAll));
+        assertTrue(results.isEmpty());
+    }
+
     @Test
     void updateItem_shouldUpdateItemSuccessfully() {
         ItemDto updateDto = new ItemDto(null, "Updated Name", "Updated Description", false, null);
@@ -130,13 +206,25 @@ class ItemServiceImplIntegrationTest {
         Item item2 = new Item(null, "Item 2", "Description 2", true, owner.getId(), null);
         itemRepository.save(item2);
 
-        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId());
+        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId(), 0, 10);
 
         assertEquals(2, userItems.size());
         assertThat(userItems).extracting(ItemWithBookingsDto::getId)
                 .containsExactlyInAnyOrder(item.getId(), item2.getId());
     }
 
+    @Test
+    void getUserItems_withPagination_shouldReturnRequestedPageOrderedById() {
+        Item second = itemRepository.save(new Item(null, "Saw", "Sharp saw", true, owner.getId(), null));
+        Item third = itemRepository.save(new Item(null, "Axe", "Heavy axe", true, owner.getId(), null));
+
+        List<ItemWithBookingsDto> firstPage = itemService.getUserItems(owner.getId(), 0, 2);
+        List<ItemWithBookingsDto> lastPage = itemService.getUserItems(owner.getId(), 2, 2);
+
+        assertThat(firstPage).extracting(ItemWithBookingsDto::getId).containsExactly(item.getId(), second.getId());
+        assertThat(lastPage).extracting(ItemWithBookingsDto::getId).containsExactly(third.getId());
+    }
+
     @Test
     void getUserItems_withBookingsAndComments_shouldIncludeThem() {
         Booking booking = new Booking(null,
@@ -147,16 +235,48 @@ class ItemServiceImplIntegrationTest {
                 BookingStatus.APPROVED);
         bookingRepository.save(booking);
 
-        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId());
+        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId(), 0, 10);
 
         assertEquals(1, userItems.size());
         assertNotNull(userItems.get(0).getLastBooking());
         assertNull(userItems.get(0).getNextBooking());
     }
 
+    @Test
+    void getUserItems_shouldResolveLastAndNextBookingPerItem() {
+        Item item2 = itemRepository.save(new Item(null, "Item 2", "Description 2", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking olderPast = bookingRepository.save(new Booking(null, now.minusDays(5), now.minusDays(4),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        Booking latestPast = bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        Booking nearestFuture = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.minusHours(1),
+                item.getId(), booker.getId(), BookingStatus.REJECTED));
+        Booking item2Future = bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                item2.getId(), booker.getId(), BookingStatus.APPROVED));
+
+        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId(), 0, 10);
+
+        ItemWithBookingsDto first = userItems.stream()
+                .filter(dto -> dto.getId().equals(item.getId())).findFirst().orElseThrow();
+        ItemWithBookingsDto second = userItems.stream()
+                .filter(dto -> dto.getId().equals(item2.getId())).findFirst().orElseThrow();
+
+        assertNotEquals(olderPast.getId(), first.getLastBooking().getId());
+        assertEquals(latestPast.getId(), first.getLastBooking().getId());
+        assertEquals(nearestFuture.getId(), first.getNextBooking().getId());
+        assertNull(second.getLastBooking());
+        assertEquals(item2Future.getId(), second.getNextBooking().getId());
+    }
+
     @Test
     void searchItems_withBlankText_shouldReturnEmptyList() {
-        List<ItemDto> results = itemService.searchItems("");
+        List<ItemDto> results = itemService.searchItems("", 0, 10);
 
         assertTrue(results.isEmpty());
     }
@@ -166,7 +286,7 @@ class ItemServiceImplIntegrationTest {
         Item searchableItem = new Item(null, "Hammer", "Big hammer", true, owner.getId(), null);
         itemRepository.save(searchableItem);
 
-        List<ItemDto> results = itemService.searchItems("hammer");
+        List<ItemDto> results = itemService.searchItems("hammer", 0, 10);
 
         assertEquals(1, results.size());
         assertEquals(searchableItem.getId(), results.get(0).getId());
@@ -177,11 +297,56 @@ class ItemServiceImplIntegrationTest {
         Item unavailableItem = new Item(null, "Broken Drill", "Doesn't work", false, owner.getId(), null);
         itemRepository.save(unavailableItem);
 
-        List<ItemDto> results = itemService.searchItems("drill");
+        List<ItemDto> results = itemService.searchItems("drill", 0, 10);
 
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void searchItems_shouldRankNameMatchesFirstAndSkipUnavailable() {
+        Item descriptionMatch = itemRepository.save(
+                new Item(null, "Toolbox", "Comes with a drill bit set", true, owner.getId(), null));
+        Item nameMatch = itemRepository.save(
+                new Item(null, "Cordless DRILL", "Battery powered", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Old drill", "Broken", false, owner.getId(), null));
+
+        List<ItemDto> results = itemService.searchItems("Drill", 0, 10);
+
+        assertThat(results).extracting(ItemDto::getId)
+                .containsExactly(nameMatch.getId(), descriptionMatch.getId());
+    }
+
+    @Test
+    void searchItems_withPagination_shouldReturnRequestedPage() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemRepository.save(new Item(null, "Ladder " + i, "Tall", true, owner.getId(), null)).getId());
+        }
+
+        List<ItemDto> secondPage = itemService.searchItems("ladder", 2, 2);
+
+        assertThat(secondPage).extracting(ItemDto::getId).containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    void searchItems_withSizeAboveLimit_shouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.searchItems("drill", 0, 101));
+
+        assertTrue(exception.getMessage().contains("size must be <= 100"));
+    }
+
+    @Test
+    void searchItems_withLikeWildcards_shouldMatchThemLiterally() {
+        Item percentItem = itemRepository.save(new Item(null, "100% cotton tent", "Tent", true, owner.getId(), null));
+
+        List<ItemDto> results = itemService.searchItems("0%", 0, 10);
+        List<ItemDto> wildcardOnly = itemService.searchItems("_", 0, 10);
+
+        assertThat(results).extracting(ItemDto::getId).containsExactly(percentItem.getId());
+        assertTrue(wildcardOnly.isEmpty());
+    }
+
     @Test
     void addComment_shouldAddCommentSuccessfully() {
         Booking booking = new Booking(null,
@@ -234,6 +399,128 @@ class ItemServiceImplIntegrationTest {
         assertEquals("Great!", itemWithDetails.getComments().get(0).getText());
     }
 
+    @Test
+    void getItemWithBookingsAndComments_shouldPickClosestBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(5), now.minusDays(4),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        Booking latestPast = bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        Booking nearestFuture = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusHours(1), now.plusHours(2),
+                item.getId(), booker.getId(), BookingStatus.WAITING));
+
+        ItemWithBookingsDto ownerView = itemService.getItemWithBookingsAndComments(item.getId(), owner.getId());
+        ItemWithBookingsDto bookerView = itemService.getItemWithBookingsAndComments(item.getId(), booker.getId());
+
+        assertEquals(latestPast.getId(), ownerView.getLastBooking().getId());
+        assertEquals(nearestFuture.getId(), ownerView.getNextBooking().getId());
+        assertNull(bookerView.getLastBooking());
+        assertNull(bookerView.getNextBooking());
+    }
+
+    @Test
+    void getItemWithBookingsAndComments_shouldResolveEveryCommentAuthor() {
+        User secondAuthor = userRepository.save(new User(null, "Second", "second@email.com"));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                item.getId(), secondAuthor.getId(), BookingStatus.APPROVED));
+
+        itemService.addComment(item.getId(), new CommentCreateDto("First"), booker.getId());
+        itemService.addComment(item.getId(), new CommentCreateDto("Second"), secondAuthor.getId());
+        itemService.addComment(item.getId(), new CommentCreateDto("Again"), booker.getId());
+
+        ItemWithBookingsDto itemWithDetails = itemService.getItemWithBookingsAndComments(item.getId(), owner.getId());
+        List<ItemWithBookingsDto> userItems = itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertThat(itemWithDetails.getComments())
+                .extracting(CommentDto::getAuthorName)
+                .containsExactlyInAnyOrder("Booker", "Second", "Booker");
+        assertThat(userItems.get(0).getComments())
+                .extracting(CommentDto::getAuthorName)
+                .containsExactlyInAnyOrder("Booker", "Second", "Booker");
+    }
+
+    @Test
+    void getItemAvailability_forOwner_shouldListActiveBookingsInRange() {
+        User booker = userRepository.save(new User(null, "Booker", "booker-availability@email.com"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking approved = bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, start.plusDays(1), start.plusDays(2),
+                item.getId(), booker.getId(), BookingStatus.REJECTED));
+
+        ItemAvailabilityDto busy = itemService.getItemAvailability(
+                item.getId(), owner.getId(), start.minusHours(1), start.plusHours(1));
+        ItemAvailabilityDto free = itemService.getItemAvailability(
+                item.getId(), owner.getId(), start.plusDays(1), start.plusDays(2));
+
+        assertFalse(busy.getAvailable());
+        assertThat(busy.getBusy()).containsExactly(new BusyIntervalDto(start, start.plusDays(1)));
+        assertThat(busy.getBookings()).extracting(BookingDto::getId).containsExactly(approved.getId());
+        assertTrue(free.getAvailable());
+        assertTrue(free.getBusy().isEmpty());
+        assertTrue(free.getBookings().isEmpty());
+    }
+
+    @Test
+    void getItemAvailability_forOtherUser_shouldListOnlyBusyIntervals() {
+        User stranger = userRepository.save(new User(null, "Stranger", "stranger@email.com"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(
+                item.getId(), stranger.getId(), start.minusHours(1), start.plusHours(1));
+
+        assertFalse(availability.getAvailable());
+        assertThat(availability.getBusy()).containsExactly(new BusyIntervalDto(start, start.plusDays(1)));
+        assertNull(availability.getBookings());
+    }
+
+    @Test
+    void getItemAvailability_withUnknownUser_shouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(RuntimeException.class,
+                () -> itemService.getItemAvailability(item.getId(), 999L, now, now.plusDays(1)));
+    }
+
+    @Test
+    void getItemAvailability_withInvalidRange_shouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.getItemAvailability(item.getId(), owner.getId(), now, now));
+    }
+
+    @Test
+    void getItemAvailability_withEndedRange_shouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.getItemAvailability(item.getId(), owner.getId(), now.minusDays(2), now.minusDays(1)));
+    }
+
+    @Test
+    void getItemAvailability_withRangeStartedInPast_shouldIgnoreEndedBookings() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(1),
+                item.getId(), booker.getId(), BookingStatus.APPROVED));
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(
+                item.getId(), owner.getId(), now.minusDays(2), now.plusDays(1));
+
+        assertTrue(availability.getAvailable());
+        assertTrue(availability.getBusy().isEmpty());
+        assertEquals(now.minusDays(2), availability.getFrom());
+    }
+
     @Test
     void getItemsByRequest_shouldReturnItemsForRequest() {
         ItemRequest request = new ItemRequest(null, "Need tools", booker.getId(), LocalDateTime.now());
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.booking.calendar.BookingCalendarConfiguration;
+import ru.practicum.shareit.cache.CacheConfiguration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchConfiguration;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.search.in-memory.enabled=true"
+})
+@RecordApplicationEvents
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({UserServiceImpl.class, CacheConfiguration.class, ItemSearchConfiguration.class, BookingCalendarConfiguration.class})
+class UserServiceImplIntegrationTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User user;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfiguration.USERS_CACHE).clear();
+        user = userRepository.save(new User(null, "User", "user@email.com"));
+        otherUser = userRepository.save(new User(null, "Other", "other@email.com"));
+    }
+
+    @Test
+    void getUser_secondCall_shouldBeServedFromCache() {
+        userService.getUser(user.getId());
+
+        Statistics statistics = getStatistics();
+        statistics.clear();
+        UserDto cached = userService.getUser(user.getId());
+
+        assertEquals("User", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertNotNull(cacheManager.getCache(CacheConfiguration.USERS_CACHE).get(user.getId()));
+    }
+
+    @Test
+    void getUser_withUnknownId_shouldNotCacheFailure() {
+        assertThrows(RuntimeException.class, () -> userService.getUser(999L));
+
+        assertNull(cacheManager.getCache(CacheConfiguration.USERS_CACHE).get(999L));
+    }
+
+    @Test
+    void requireExists_shouldNotLoadUserEntity() {
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        userService.requireExists(user.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void requireExists_withCachedUser_shouldNotQueryDatabase() {
+        userService.getUser(user.getId());
+
+        Statistics statistics = getStatistics();
+        statistics.clear();
+        userService.requireExists(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void requireExists_withUnknownId_shouldThrowException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.requireExists(999L));
+
+        assertEquals("User not found", exception.getMessage());
+    }
+
+    @Test
+    void updateUser_shouldCacheUpdatedUserOnCommit() {
+        userService.getUser(user.getId());
+        userService.getUser(otherUser.getId());
+
+        userService.updateUser(user.getId(), new UserDto(null, "Renamed", null));
+        assertEquals("User", cachedUser(user.getId()).getName());
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            assertEquals("Renamed", cachedUser(user.getId()).getName());
+            assertEquals("Other", cachedUser(otherUser.getId()).getName());
+            assertEquals("Renamed", userService.getUser(user.getId()).getName());
+        } finally {
+            userRepository.deleteAllById(List.of(user.getId(), otherUser.getId()));
+        }
+    }
+
+    @Test
+    void updateUser_rolledBack_shouldKeepCachedUser() {
+        userService.getUser(user.getId());
+
+        userService.updateUser(user.getId(), new UserDto(null, "Renamed", null));
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertEquals("User", cachedUser(user.getId()).getName());
+    }
+
+    @Test
+    void getUser_shouldNotReplaceCachedUser() {
+        cacheManager.getCache(CacheConfiguration.USERS_CACHE)
+                .put(user.getId(), new UserDto(user.getId(), "Renamed", "user@email.com"));
+
+        assertEquals("Renamed", userService.getUser(user.getId()).getName());
+        assertEquals("Renamed", cachedUser(user.getId()).getName());
+    }
+
+    @Test
+    void getUser_shouldReturnCopyOfCachedUser() {
+        userService.getUser(user.getId()).setName("Changed");
+
+        assertEquals("User", userService.getUser(user.getId()).getName());
+    }
+
+    @Test
+    void deleteUser_shouldEvictDeletedUser() {
+        userService.getUser(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(RuntimeException.class, () -> userService.getUser(user.getId()));
+    }
+
+    @Test
+    void deleteUser_shouldPublishUserDeletedEvent() {
+        userService.deleteUser(user.getId());
+
+        assertEquals(1, events.stream(UserDeletedEvent.class)
+                .filter(event -> event.getUserId().equals(user.getId()))
+                .count());
+    }
+
+    @Test
+    void deleteUser_shouldPublishIdsOfOwnedItems() {
+        Item item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, user.getId(), null));
+        itemRepository.save(new Item(null, "Saw", "Sharp saw", true, otherUser.getId(), null));
+
+        userService.deleteUser(user.getId());
+
+        assertEquals(List.of(List.of(item.getId())), events.stream(UserDeletedEvent.class)
+                .map(UserDeletedEvent::getItemIds)
+                .toList());
+    }
+
+    @Test
+    void deleteUser_rolledBack_shouldKeepSearchIndex() {
+        Item item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, user.getId(), null));
+        itemSearchEngine.index(item);
+
+        userService.deleteUser(user.getId());
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertEquals(1, itemSearchEngine.search("drill", Pageable.unpaged()).size());
+    }
+
+    private UserDto cachedUser(Long userId) {
+        return cacheManager.getCache(CacheConfiguration.USERS_CACHE).get(userId, UserDto.class);
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
\ No newline at end of file